@@ -0,0 +1,14 @@
+param (
+    [Parameter(ValueFromRemainingArguments)] $JmhArgs
+)
+
+Import-Module "$PSScriptRoot/__mod__.psm1" -Force
+
+Clear-Host
+
+# JVM-only module, no Android device needed
+if ($JmhArgs) {
+    Invoke-Gradle -p benchmarks jmh "-PjmhArgs=$($JmhArgs -join ' ')"
+} else {
+    Invoke-Gradle -p benchmarks jmh
+}
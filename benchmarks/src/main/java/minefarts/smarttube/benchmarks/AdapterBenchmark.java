@@ -0,0 +1,181 @@
+package minefarts.smarttube.benchmarks;
+
+import androidx.leanback.widget.Presenter;
+import com.liskovsoft.smartyoutubetv2.common.app.models.data.Video;
+import com.liskovsoft.smartyoutubetv2.common.app.models.data.VideoGroup;
+import minefarts.smarttube.adapter.HeaderVideoGroupObjectAdapter;
+import minefarts.smarttube.adapter.VideoGroupObjectAdapter;
+import minefarts.smarttube.ui.browse.video.RowMerger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Row adapters: add/remove/sync/indexOf, channel filter and continuation of the short rows.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdapterBenchmark {
+    private static final Presenter PRESENTER = new Presenter() {};
+    private static final int ROW_COUNT = 30;
+    private static final AtomicInteger sNextRowId = new AtomicInteger(Integer.MIN_VALUE);
+
+    /**
+     * Videos inside the adapter (History/Subscriptions grids are long)
+     */
+    @Param({"200", "2000"})
+    public int videoCount;
+
+    private List<VideoGroup> mGroups;
+    private VideoGroupObjectAdapter mAdapter;
+    private HeaderVideoGroupObjectAdapter mHeaderAdapter;
+    private VideoGroup mSyncGroup;
+    private Video mLastVideo;
+    private Video mLastVideoCopy;
+
+    /**
+     * Adapters notify each other about the groups they share, so every mutating benchmark gets its own copies
+     */
+    @State(Scope.Thread)
+    public static class FreshGroups {
+        List<VideoGroup> groups;
+        VideoGroup removed;
+
+        @Setup(Level.Invocation)
+        public void setup(AdapterBenchmark benchmark) {
+            groups = copy(benchmark.mGroups);
+            removed = VideoGroup.from(groups.get(groups.size() / 2).getVideos());
+        }
+    }
+
+    /**
+     * Merging mutates rows, so they're recreated each time.<br/>
+     * Rows of the previous invocations are still registered (weakly) and would sync with the same group ids,
+     * so every row gets a new id (negative, identity hash codes of the other groups are positive).<br/>
+     * The counter is shared by the trials of all params (forks could be disabled).
+     */
+    @State(Scope.Thread)
+    public static class Rows {
+        Map<Integer, VideoGroupObjectAdapter> rows;
+        VideoGroup newRow;
+
+        @Setup(Level.Invocation)
+        public void setup() {
+            rows = new HashMap<>();
+
+            for (int i = 0; i < ROW_COUNT; i++) {
+                VideoGroup row = VideoCorpus.createMergeableGroup("Row" + i, 3, i);
+                row.setId(sNextRowId.getAndIncrement());
+                rows.put(row.getId(), new VideoGroupObjectAdapter(row, PRESENTER));
+            }
+
+            newRow = VideoCorpus.createMergeableGroup("Row" + (ROW_COUNT - 1), 4, ROW_COUNT);
+            newRow.setId(-1);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        mGroups = VideoCorpus.createGroups(videoCount / 20, 20, 42);
+
+        mAdapter = new VideoGroupObjectAdapter(PRESENTER);
+        mHeaderAdapter = new HeaderVideoGroupObjectAdapter(PRESENTER);
+        mHeaderAdapter.setHeader(new Object());
+
+        for (VideoGroup group : copy(mGroups)) {
+            mAdapter.add(group);
+        }
+
+        for (VideoGroup group : copy(mGroups)) {
+            mHeaderAdapter.add(group);
+        }
+
+        List<Video> all = mAdapter.getAll();
+        mLastVideo = all.get(all.size() - 1);
+        mLastVideoCopy = new Video();
+        mLastVideoCopy.videoId = mLastVideo.videoId;
+
+        mSyncGroup = VideoGroup.from(VideoCorpus.createVideos(10, 42));
+    }
+
+    @Benchmark
+    public VideoGroupObjectAdapter addGroups(FreshGroups fresh) {
+        VideoGroupObjectAdapter adapter = new VideoGroupObjectAdapter(PRESENTER);
+
+        for (VideoGroup group : fresh.groups) {
+            adapter.add(group);
+        }
+
+        return adapter;
+    }
+
+    @Benchmark
+    public int addAndRemoveGroup(FreshGroups fresh) {
+        VideoGroupObjectAdapter adapter = new VideoGroupObjectAdapter(PRESENTER);
+
+        for (VideoGroup group : fresh.groups) {
+            adapter.add(group);
+        }
+
+        adapter.remove(fresh.removed);
+
+        return adapter.size();
+    }
+
+    @Benchmark
+    public void sync() {
+        mAdapter.sync(mSyncGroup);
+    }
+
+    @Benchmark
+    public void indexOf(Blackhole blackhole) {
+        blackhole.consume(mAdapter.indexOf(mLastVideo));
+        blackhole.consume(mAdapter.indexOfAlt(mLastVideoCopy));
+    }
+
+    @Benchmark
+    public void headerFilter(Blackhole blackhole) {
+        mHeaderAdapter.filter("mu");
+        blackhole.consume(mHeaderAdapter.size());
+        mHeaderAdapter.filter("7");
+        blackhole.consume(mHeaderAdapter.size());
+        mHeaderAdapter.filter(null);
+        blackhole.consume(mHeaderAdapter.size());
+    }
+
+    @Benchmark
+    public VideoGroupObjectAdapter findRelatedAdapter(Rows rows) {
+        return RowMerger.findRelatedAdapter(rows.rows, rows.newRow, 6, freeze -> {});
+    }
+
+    private static List<VideoGroup> copy(List<VideoGroup> groups) {
+        List<VideoGroup> result = new ArrayList<>(groups.size());
+
+        for (VideoGroup group : groups) {
+            result.add(VideoGroup.from(group.getVideos()));
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,64 @@
+package minefarts.smarttube.benchmarks;
+
+import minefarts.smarttube.ui.widgets.chat.ChatMessageSplitter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comments page: max length calculation and split of the long comments (ChatItemMessage.fromSplit text part).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatSplitBenchmark {
+    private List<String> mComments;
+
+    @Setup
+    public void setup() {
+        // One comments page: mostly short ones, some multiline and some huge
+        List<String> descriptions = DescriptionCorpus.create(20, 3000, 7);
+        Random random = new Random(7);
+        mComments = new ArrayList<>();
+
+        for (String description : descriptions) {
+            int start = random.nextInt(description.length() / 2);
+            int length = random.nextInt(10) < 7 ? 40 + random.nextInt(200) : 700 + random.nextInt(1500);
+            mComments.add(description.substring(start, Math.min(description.length(), start + length)));
+        }
+    }
+
+    @Benchmark
+    public void getRealMaxLen(Blackhole blackhole) {
+        for (String comment : mComments) {
+            blackhole.consume(ChatMessageSplitter.getRealMaxLen(comment));
+        }
+    }
+
+    @Benchmark
+    public void fromSplit(Blackhole blackhole) {
+        for (String comment : mComments) {
+            if (ChatMessageSplitter.shouldSplit(comment)) {
+                blackhole.consume(ChatMessageSplitter.split(comment));
+            } else {
+                blackhole.consume(comment);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package minefarts.smarttube.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic video descriptions that mimic the real ones: chapters with time codes, social and sponsor links,
+ * emails, hashtags and long plain paragraphs.
+ */
+public final class DescriptionCorpus {
+    private static final String[] WORDS = {
+            "video", "today", "we", "are", "going", "to", "talk", "about", "the", "new", "update", "and", "how", "it",
+            "works", "thanks", "for", "watching", "don't", "forget", "subscribe", "music", "by", "gear", "used", "in",
+            "this", "episode", "check", "out", "my", "other", "channel", "v2.0", "part", "1", "of", "3", "(full)",
+            "Привет", "ありがとう", "edition", "live", "stream", "Q&A", "—", "...", "!", "?"
+    };
+    private static final String[] LINKS = {
+            "https://www.youtube.com/watch?v=dQw4w9WgXcQ", "https://youtu.be/abc123XYZ?t=42",
+            "http://instagram.com/someone", "https://twitter.com/someone/status/1234567890",
+            "www.patreon.com/creator", "amzn.to/3xYzAbC", "https://discord.gg/invite",
+            "shop.example.com/products/item-42?ref=yt&utm_source=description", "bit.ly/2AbCdEf",
+            "https://open.spotify.com/track/4uLU6hMCjMI75M1A2tKUQC?si=abc"
+    };
+    private static final String[] EMAILS = {"business@example.com", "contact.me+yt@mail.co.uk"};
+
+    private DescriptionCorpus() {
+    }
+
+    public static List<String> create(int count, int sizeChars, long seed) {
+        Random random = new Random(seed);
+        List<String> result = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            result.add(createDescription(random, sizeChars));
+        }
+
+        return result;
+    }
+
+    private static String createDescription(Random random, int sizeChars) {
+        StringBuilder builder = new StringBuilder(sizeChars + 256);
+
+        appendParagraph(builder, random, 60);
+        builder.append("\n\nChapters:\n");
+
+        int chapters = 5 + random.nextInt(20);
+        int seconds = 0;
+
+        for (int i = 0; i < chapters; i++) {
+            builder.append(formatTime(seconds)).append(' ');
+            appendParagraph(builder, random, 2 + random.nextInt(5));
+            builder.append('\n');
+            seconds += 30 + random.nextInt(600);
+        }
+
+        while (builder.length() < sizeChars) {
+            builder.append('\n');
+            int type = random.nextInt(4);
+
+            if (type == 0) {
+                builder.append("► ").append(LINKS[random.nextInt(LINKS.length)]);
+            } else if (type == 1) {
+                builder.append("Business inquiries: ").append(EMAILS[random.nextInt(EMAILS.length)]);
+            } else if (type == 2) {
+                builder.append("#tag").append(random.nextInt(100)).append(" #music #live");
+            } else {
+                appendParagraph(builder, random, 20 + random.nextInt(60));
+            }
+        }
+
+        builder.setLength(sizeChars);
+
+        return builder.toString();
+    }
+
+    private static void appendParagraph(StringBuilder builder, Random random, int words) {
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+    }
+
+    private static String formatTime(int seconds) {
+        int hours = seconds / 3600;
+        int minutes = (seconds / 60) % 60;
+        int secs = seconds % 60;
+
+        return hours > 0 ? String.format("%d:%02d:%02d", hours, minutes, secs) : String.format("%d:%02d", minutes, secs);
+    }
+}
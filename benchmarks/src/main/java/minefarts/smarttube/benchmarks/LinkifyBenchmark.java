@@ -0,0 +1,183 @@
+package minefarts.smarttube.benchmarks;
+
+import minefarts.smarttube.ui.mod.clickable.LinkScanner;
+import minefarts.smarttube.ui.mod.clickable.PatternsCompat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Description linkification: regex cascade (old LinkifyCompat path) vs single-pass {@link LinkScanner}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkifyBenchmark {
+    private static final int MASK = LinkScanner.WEB_URLS | LinkScanner.TIME_CODES;
+    /**
+     * Cases where the scanner diverged from the regex before
+     */
+    private static final String[] PARITY_CASES = {
+            "host.cc:2b", "see host.cc:2b here", "host.cc:123456", "host.cc:80/path", "host.cc:80b/path",
+            "http://host:2b", "https://host.cc:8080x", "a-.b.com", "a-b.com", "x.a-.b.com y", "-a.com", "a_.com",
+            "www.example.com.", "1.2.3.4:80", "mail me@example.com", "12:30 and 1:02:03"
+    };
+    /**
+     * Runs of invalid labels: should stay linear
+     */
+    private static final String INVALID_LABELS = repeat("a-.com.", 3000);
+
+    @Param({"5000"})
+    public int descriptionSize;
+
+    private List<String> mDescriptions;
+
+    @Setup
+    public void setup() {
+        mDescriptions = DescriptionCorpus.create(50, descriptionSize, 42);
+
+        for (String description : mDescriptions) {
+            checkParity(description);
+        }
+
+        for (String text : PARITY_CASES) {
+            checkParity(text);
+        }
+    }
+
+    @Benchmark
+    public void regexCascade(Blackhole blackhole) {
+        for (String description : mDescriptions) {
+            blackhole.consume(regexLinks(description));
+        }
+    }
+
+    @Benchmark
+    public void singlePassScanner(Blackhole blackhole) {
+        for (String description : mDescriptions) {
+            blackhole.consume(LinkScanner.scan(description, MASK));
+        }
+    }
+
+    @Benchmark
+    public Object invalidLabelsRegex() {
+        return regexLinks(INVALID_LABELS);
+    }
+
+    @Benchmark
+    public Object invalidLabelsScanner() {
+        return LinkScanner.scan(INVALID_LABELS, MASK);
+    }
+
+    /**
+     * Scanner should produce the same links as the regex cascade.<br/>
+     * Time codes inside urls are dropped: the scanner doesn't produce overlapping links.
+     */
+    static void checkParity(String text) {
+        List<int[]> expected = regexLinks(text);
+        List<LinkScanner.Link> actual = LinkScanner.scan(text, MASK);
+        Collections.sort(expected, (a, b) -> Integer.compare(a[0], b[0]));
+
+        for (int i = 1; i < expected.size(); i++) {
+            if (expected.get(i)[0] < expected.get(i - 1)[1]) {
+                expected.remove(i--);
+            }
+        }
+        boolean isSame = expected.size() == actual.size();
+
+        for (int i = 0; isSame && i < expected.size(); i++) {
+            isSame = expected.get(i)[0] == actual.get(i).start && expected.get(i)[1] == actual.get(i).end;
+        }
+
+        if (!isSame) {
+            StringBuilder links = new StringBuilder();
+            for (int[] link : expected) {
+                links.append(" [").append(text, link[0], link[1]).append(']');
+            }
+            links.append(" vs");
+            for (LinkScanner.Link link : actual) {
+                links.append(" [").append(text, link.start, link.end).append(']');
+            }
+            throw new IllegalStateException("Scanner and regex differ on '" + text + "':" + links);
+        }
+    }
+
+    private static String repeat(String value, int count) {
+        StringBuilder result = new StringBuilder(value.length() * count);
+
+        for (int i = 0; i < count; i++) {
+            result.append(value);
+        }
+
+        return result.toString();
+    }
+
+    /**
+     * Mirrors the previous LinkifyCompat.addLinks: sequential patterns, then sort and prune overlaps
+     */
+    private static List<int[]> regexLinks(String text) {
+        List<int[]> links = new ArrayList<>();
+        List<int[]> timeLinks = new ArrayList<>();
+
+        gather(links, text, PatternsCompat.AUTOLINK_WEB_URL, true);
+        gather(timeLinks, text, PatternsCompat.AUTOLINK_TIME_CODE, false);
+
+        Collections.sort(links, (a, b) -> a[0] != b[0] ? Integer.compare(a[0], b[0]) : Integer.compare(b[1], a[1]));
+
+        int i = 0;
+
+        while (i < links.size() - 1) {
+            int[] a = links.get(i);
+            int[] b = links.get(i + 1);
+
+            if (a[0] <= b[0] && a[1] > b[0]) {
+                if (b[1] <= a[1] || (a[1] - a[0]) > (b[1] - b[0])) {
+                    links.remove(i + 1);
+                    continue;
+                } else if ((a[1] - a[0]) < (b[1] - b[0])) {
+                    links.remove(i);
+                    continue;
+                }
+            }
+
+            i++;
+        }
+
+        links.addAll(timeLinks);
+
+        return links;
+    }
+
+    private static void gather(List<int[]> links, String text, Pattern pattern, boolean urlFilter) {
+        Matcher matcher = pattern.matcher(text);
+
+        while (matcher.find()) {
+            int start = matcher.start();
+
+            if (urlFilter && start > 0 && text.charAt(start - 1) == '@') { // Linkify.sUrlMatchFilter
+                continue;
+            }
+
+            links.add(new int[] {start, matcher.end(), matcher.group(0).hashCode()});
+        }
+    }
+}
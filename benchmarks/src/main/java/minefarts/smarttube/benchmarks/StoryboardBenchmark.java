@@ -0,0 +1,65 @@
+package minefarts.smarttube.benchmarks;
+
+import minefarts.smarttube.ui.playback.previewtimebar.StoryboardMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seek preview: seek positions of the whole video and position to (group, line, column) mapping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StoryboardBenchmark {
+    // Typical storyboard: 5x5 thumbnails, 2 sec each
+    private static final int ROW_COUNT = 5;
+    private static final int COL_COUNT = 5;
+    private static final int THUMB_DURATION_MS = 2_000;
+    private static final int GROUP_DURATION_MS = ROW_COUNT * COL_COUNT * THUMB_DURATION_MS;
+
+    /**
+     * Video length in minutes (regular video vs long stream)
+     */
+    @Param({"10", "600"})
+    public int lengthMin;
+
+    private long[] mSeekPositions;
+
+    @Setup
+    public void setup() {
+        mSeekPositions = createSeekPositions();
+    }
+
+    @Benchmark
+    public long[] createSeekPositions() {
+        long frameDurationMs = StoryboardMath.getFrameDurationMs(GROUP_DURATION_MS, ROW_COUNT, COL_COUNT);
+        return StoryboardMath.createSeekPositions(lengthMin * 60_000L, frameDurationMs);
+    }
+
+    @Benchmark
+    public void thumbCoordinates(Blackhole blackhole) {
+        for (long position : mSeekPositions) {
+            int groupNum = StoryboardMath.getGroupNum(position, GROUP_DURATION_MS);
+            long groupPositionMs = StoryboardMath.getGroupPositionMs(position, GROUP_DURATION_MS);
+            int thumbPos = StoryboardMath.getThumbPos(groupPositionMs, THUMB_DURATION_MS);
+            blackhole.consume(groupNum);
+            blackhole.consume(StoryboardMath.getThumbLine(thumbPos, ROW_COUNT));
+            blackhole.consume(StoryboardMath.getThumbColumn(thumbPos, COL_COUNT));
+        }
+    }
+}
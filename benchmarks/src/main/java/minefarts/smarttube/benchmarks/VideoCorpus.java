@@ -0,0 +1,72 @@
+package minefarts.smarttube.benchmarks;
+
+import com.liskovsoft.mediaserviceinterfaces.data.MediaGroup;
+import com.liskovsoft.smartyoutubetv2.common.app.models.data.Video;
+import com.liskovsoft.smartyoutubetv2.common.app.models.data.VideoGroup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic rows of videos: channel-like titles, repeating authors and a bit of duplicated ids (History section).
+ */
+final class VideoCorpus {
+    private static final String[] TITLE_WORDS = {
+            "Live", "Music", "Review", "Unboxing", "Tutorial", "Gaming", "News", "Podcast", "Vlog", "Trailer",
+            "Highlights", "Reaction", "Top 10", "2024", "Part", "Official", "Remix", "Shorts", "Cooking", "Travel"
+    };
+    private static final MediaGroup LAST_PAGE = () -> null;
+
+    private VideoCorpus() {
+    }
+
+    static List<Video> createVideos(int count, long seed) {
+        Random random = new Random(seed);
+        List<Video> result = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            Video video = new Video();
+            // ~5% of duplicates
+            video.videoId = "id" + (random.nextInt(20) == 0 ? random.nextInt(count) : i);
+            video.author = "Author" + random.nextInt(Math.max(1, count / 10));
+            video.title = createTitle(random, i);
+            video.percentWatched = random.nextInt(100);
+            result.add(video);
+        }
+
+        return result;
+    }
+
+    static List<VideoGroup> createGroups(int groupCount, int groupSize, long seed) {
+        List<VideoGroup> result = new ArrayList<>(groupCount);
+        List<Video> videos = createVideos(groupCount * groupSize, seed);
+
+        for (int i = 0; i < groupCount; i++) {
+            result.add(VideoGroup.from(videos.subList(i * groupSize, (i + 1) * groupSize)));
+        }
+
+        return result;
+    }
+
+    /**
+     * Last page rows (no continuation) that share the same title, so they could be merged
+     */
+    static VideoGroup createMergeableGroup(String title, int size, long seed) {
+        return VideoGroup.from(LAST_PAGE, title, false, createVideos(size, seed));
+    }
+
+    private static String createTitle(Random random, int index) {
+        StringBuilder title = new StringBuilder();
+        int words = 2 + random.nextInt(5);
+
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                title.append(' ');
+            }
+            title.append(TITLE_WORDS[random.nextInt(TITLE_WORDS.length)]);
+        }
+
+        return title.append(" #").append(index).toString();
+    }
+}
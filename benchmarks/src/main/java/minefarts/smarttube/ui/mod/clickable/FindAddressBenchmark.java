@@ -0,0 +1,65 @@
+package minefarts.smarttube.ui.mod.clickable;
+
+import minefarts.smarttube.benchmarks.DescriptionCorpus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Map addresses search (LinkifyCompat MAP_ADDRESSES). Lives in the same package: FindAddress is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FindAddressBenchmark {
+    private static final String[] ADDRESSES = {
+            "1600 Amphitheatre Parkway, Mountain View, CA 94043",
+            "350 Fifth Avenue New York NY 10118",
+            "221 Main St, Springfield, IL 62701"
+    };
+
+    private List<String> mPlain;
+    private List<String> mWithAddress;
+
+    @Setup
+    public void setup() {
+        List<String> descriptions = DescriptionCorpus.create(20, 3000, 11);
+        mPlain = descriptions;
+        mWithAddress = new ArrayList<>();
+
+        for (int i = 0; i < descriptions.size(); i++) {
+            String description = descriptions.get(i);
+            int middle = description.indexOf(' ', description.length() / 2);
+            mWithAddress.add(description.substring(0, middle) + " Visit us: " + ADDRESSES[i % ADDRESSES.length] + description.substring(middle));
+        }
+    }
+
+    @Benchmark
+    public void noAddress(Blackhole blackhole) {
+        for (String description : mPlain) {
+            blackhole.consume(FindAddress.findAddress(description));
+        }
+    }
+
+    @Benchmark
+    public void withAddress(Blackhole blackhole) {
+        for (String description : mWithAddress) {
+            blackhole.consume(FindAddress.findAddress(description));
+        }
+    }
+}
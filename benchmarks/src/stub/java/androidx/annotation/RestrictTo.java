@@ -0,0 +1,21 @@
+package androidx.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * Compile-only stand-in for the androidx annotation (PatternsCompat uses it).<br/>
+ * Keeps the module resolvable from Maven Central alone.
+ */
+@Retention(RetentionPolicy.SOURCE)
+public @interface RestrictTo {
+    Scope[] value();
+
+    enum Scope {
+        LIBRARY,
+        LIBRARY_GROUP,
+        LIBRARY_GROUP_PREFIX,
+        TESTS,
+        SUBCLASSES
+    }
+}
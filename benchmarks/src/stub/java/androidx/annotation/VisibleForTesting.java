@@ -0,0 +1,11 @@
+package androidx.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * Compile-only stand-in for the androidx annotation (FindAddress uses it).
+ */
+@Retention(RetentionPolicy.SOURCE)
+public @interface VisibleForTesting {
+}
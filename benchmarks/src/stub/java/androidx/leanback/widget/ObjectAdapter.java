@@ -0,0 +1,38 @@
+package androidx.leanback.widget;
+
+/**
+ * JVM stand-in of the leanback adapter.<br/>
+ * Change notifications only bump a counter (no observers without the RecyclerView).
+ */
+public abstract class ObjectAdapter {
+    private final Object mPresenter;
+    private int mChangeCount;
+
+    public ObjectAdapter(Presenter presenter) {
+        mPresenter = presenter;
+    }
+
+    public ObjectAdapter(PresenterSelector presenterSelector) {
+        mPresenter = presenterSelector;
+    }
+
+    public abstract int size();
+
+    public abstract Object get(int position);
+
+    public int getChangeCount() {
+        return mChangeCount;
+    }
+
+    public void notifyItemRangeChanged(int positionStart, int itemCount) {
+        mChangeCount++;
+    }
+
+    protected void notifyItemRangeInserted(int positionStart, int itemCount) {
+        mChangeCount++;
+    }
+
+    protected void notifyItemRangeRemoved(int positionStart, int itemCount) {
+        mChangeCount++;
+    }
+}
@@ -0,0 +1,7 @@
+package androidx.leanback.widget;
+
+/**
+ * JVM stand-in: adapters only keep a reference to it.
+ */
+public abstract class Presenter {
+}
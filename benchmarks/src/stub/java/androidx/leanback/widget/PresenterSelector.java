@@ -0,0 +1,8 @@
+package androidx.leanback.widget;
+
+/**
+ * JVM stand-in: adapters only keep a reference to it.
+ */
+public abstract class PresenterSelector {
+    public abstract Presenter getPresenter(Object item);
+}
@@ -0,0 +1,8 @@
+package com.liskovsoft.mediaserviceinterfaces.data;
+
+/**
+ * JVM stand-in: only the continuation key is needed by the row merging.
+ */
+public interface MediaGroup {
+    String getNextPageKey();
+}
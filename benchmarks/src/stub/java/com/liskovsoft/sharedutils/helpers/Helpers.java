@@ -0,0 +1,75 @@
+package com.liskovsoft.sharedutils.helpers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JVM stand-in with the subset of the sharedutils helpers used by the measured sources.
+ */
+public final class Helpers {
+    public interface Filter<T> {
+        boolean test(T item);
+    }
+
+    private Helpers() {
+    }
+
+    public static boolean equals(Object first, Object second) {
+        return first == second || (first != null && first.equals(second));
+    }
+
+    /**
+     * @return null when nothing matched
+     */
+    public static <T> List<T> filter(Collection<T> items, Filter<T> filter) {
+        if (items == null) {
+            return null;
+        }
+
+        List<T> result = null;
+
+        for (T item : items) {
+            if (filter.test(item)) {
+                if (result == null) {
+                    result = new ArrayList<>();
+                }
+                result.add(item);
+            }
+        }
+
+        return result;
+    }
+
+    public static boolean isNumeric(String s) {
+        if (s == null || s.isEmpty()) {
+            return false;
+        }
+
+        for (int i = 0; i < s.length(); i++) {
+            if (!Character.isDigit(s.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public static boolean contains(String source, String part) {
+        return source != null && part != null && source.toLowerCase().contains(part.toLowerCase());
+    }
+
+    public static boolean startsWith(String source, String prefix) {
+        return source != null && prefix != null && source.toLowerCase().startsWith(prefix.toLowerCase());
+    }
+
+    public static List<String> splitStringBySize(String str, int size) {
+        List<String> split = new ArrayList<>();
+
+        for (int i = 0; i <= str.length() / size; i++) {
+            split.add(str.substring(i * size, Math.min((i + 1) * size, str.length())));
+        }
+
+        return split;
+    }
+}
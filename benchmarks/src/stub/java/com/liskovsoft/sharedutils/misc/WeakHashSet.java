@@ -0,0 +1,68 @@
+package com.liskovsoft.sharedutils.misc;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * JVM stand-in of the sharedutils registry (weak items, stoppable iteration).
+ */
+public class WeakHashSet<T> {
+    private final List<WeakReference<T>> mItems = new ArrayList<>();
+    private boolean mStopForEach;
+
+    public interface OnItem<T> {
+        void onItem(T item);
+    }
+
+    public boolean add(T item) {
+        if (item == null || contains(item)) {
+            return false;
+        }
+
+        cleanup();
+        return mItems.add(new WeakReference<>(item));
+    }
+
+    public boolean contains(T item) {
+        for (WeakReference<T> reference : mItems) {
+            if (reference.get() == item) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public void forEach(OnItem<T> onItem) {
+        mStopForEach = false;
+
+        // Copy: the callback may add new items
+        for (WeakReference<T> reference : new ArrayList<>(mItems)) {
+            T item = reference.get();
+
+            if (item != null) {
+                onItem.onItem(item);
+            }
+
+            if (mStopForEach) {
+                break;
+            }
+        }
+    }
+
+    public void stopForEach() {
+        mStopForEach = true;
+    }
+
+    private void cleanup() {
+        Iterator<WeakReference<T>> iterator = mItems.iterator();
+
+        while (iterator.hasNext()) {
+            if (iterator.next().get() == null) {
+                iterator.remove();
+            }
+        }
+    }
+}
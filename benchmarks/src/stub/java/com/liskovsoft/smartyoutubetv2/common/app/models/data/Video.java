@@ -0,0 +1,46 @@
+package com.liskovsoft.smartyoutubetv2.common.app.models.data;
+
+/**
+ * JVM stand-in of the app video model. Equality is by the video id.
+ */
+public class Video {
+    public String videoId;
+    public String title;
+    public String author;
+    public long percentWatched;
+    private VideoGroup mGroup;
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public VideoGroup getGroup() {
+        return mGroup;
+    }
+
+    public void setGroup(VideoGroup group) {
+        mGroup = group;
+    }
+
+    public void sync(Video video) {
+        if (video == null) {
+            return;
+        }
+
+        percentWatched = video.percentWatched;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof Video && videoId != null && videoId.equals(((Video) obj).videoId);
+    }
+
+    @Override
+    public int hashCode() {
+        return videoId != null ? videoId.hashCode() : super.hashCode();
+    }
+}
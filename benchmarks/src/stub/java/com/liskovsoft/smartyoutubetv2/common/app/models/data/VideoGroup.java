@@ -0,0 +1,98 @@
+package com.liskovsoft.smartyoutubetv2.common.app.models.data;
+
+import com.liskovsoft.mediaserviceinterfaces.data.MediaGroup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JVM stand-in of the app video group model.
+ */
+public class VideoGroup {
+    public static final int ACTION_APPEND = 0;
+    public static final int ACTION_PREPEND = 1;
+    private int mId;
+    private String mTitle;
+    private List<Video> mVideos;
+    private MediaGroup mMediaGroup;
+    private boolean mIsShorts;
+    private int mAction = ACTION_APPEND;
+
+    public static VideoGroup from(List<Video> videos) {
+        VideoGroup group = new VideoGroup();
+        group.mVideos = new ArrayList<>(videos);
+        group.mId = group.hashCode();
+
+        for (Video video : group.mVideos) {
+            if (video.getGroup() == null) {
+                video.setGroup(group);
+            }
+        }
+
+        return group;
+    }
+
+    public static VideoGroup from(MediaGroup mediaGroup, String title, boolean isShorts, List<Video> videos) {
+        VideoGroup group = from(videos);
+        group.mId = title != null ? title.hashCode() : group.mId;
+        group.mTitle = title;
+        group.mMediaGroup = mediaGroup;
+        group.mIsShorts = isShorts;
+
+        return group;
+    }
+
+    public int getId() {
+        return mId;
+    }
+
+    public void setId(int id) {
+        mId = id;
+    }
+
+    public String getTitle() {
+        return mTitle;
+    }
+
+    public void setTitle(String title) {
+        mTitle = title;
+    }
+
+    public List<Video> getVideos() {
+        return mVideos;
+    }
+
+    public int getSize() {
+        return mVideos != null ? mVideos.size() : -1;
+    }
+
+    public MediaGroup getMediaGroup() {
+        return mMediaGroup;
+    }
+
+    public boolean isShorts() {
+        return mIsShorts;
+    }
+
+    public int getAction() {
+        return mAction;
+    }
+
+    public void setAction(int action) {
+        mAction = action;
+    }
+
+    public void remove(Video video) {
+        if (mVideos != null) {
+            mVideos.remove(video);
+        }
+    }
+
+    public void removeAllBefore(int index) {
+        if (mVideos == null || index <= 0) {
+            return;
+        }
+
+        mVideos = new ArrayList<>(mVideos.subList(Math.min(index, mVideos.size()), mVideos.size()));
+    }
+}
@@ -21,6 +21,15 @@ public class VideoGroupObjectAdapter extends ObjectAdapter {
     private static final int TYPE_ADD = 0;
     private static final int TYPE_REMOVE = 1;
     private static final int TYPE_SYNC = 2;
+    private static UpdateListener sUpdateListener;
+
+    /**
+     * Group updates of any adapter (e.g. for the frame monitor)
+     */
+    public interface UpdateListener {
+        void onAdd();
+        void onSync();
+    }
 
     public VideoGroupObjectAdapter(VideoGroup videoGroup, Presenter presenter) {
         super(presenter);
@@ -84,6 +93,10 @@ public class VideoGroupObjectAdapter extends ObjectAdapter {
         }
 
         notifyOtherAdapters(group, TYPE_ADD);
+
+        if (sUpdateListener != null) {
+            sUpdateListener.onAdd();
+        }
     }
 
     public void add(List<Video> videos) {
@@ -213,6 +226,14 @@ public class VideoGroupObjectAdapter extends ObjectAdapter {
         }
 
         notifyOtherAdapters(group, TYPE_SYNC);
+
+        if (sUpdateListener != null) {
+            sUpdateListener.onSync();
+        }
+    }
+
+    public static void setUpdateListener(UpdateListener listener) {
+        sUpdateListener = listener;
     }
 
     public boolean isEmpty() {
@@ -0,0 +1,76 @@
+package minefarts.smarttube.presenter;
+
+import android.content.Context;
+import android.util.SparseIntArray;
+import android.view.View;
+import android.view.ViewGroup;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.recyclerview.widget.RecyclerView.RecycledViewPool;
+import minefarts.smarttube.ui.widgets.complexcardview.FlatVideoCardView;
+
+/**
+ * Shared pool of the row grids (one per row presenter).<br/>
+ * Card holders that don't fit into the pool aren't dropped but moved to the process-wide {@link CardViewPool}.
+ */
+public class CardRecycledViewPool extends RecycledViewPool {
+    private static final int DEFAULT_MAX_SCRAP = 5; // same as RecycledViewPool
+    private final SparseIntArray mMaxScrap = new SparseIntArray();
+    private final CardViewPool mCardViewPool;
+
+    public CardRecycledViewPool(Context context) {
+        mCardViewPool = CardViewPool.instance(context);
+    }
+
+    @Override
+    public void setMaxRecycledViews(int viewType, int max) {
+        super.setMaxRecycledViews(viewType, max);
+        mMaxScrap.put(viewType, max);
+    }
+
+    @Override
+    public void putRecycledView(RecyclerView.ViewHolder scrap) {
+        int viewType = scrap.getItemViewType();
+
+        if (mMaxScrap.indexOfKey(viewType) < 0) {
+            mMaxScrap.put(viewType, DEFAULT_MAX_SCRAP);
+        }
+
+        if (getRecycledViewCount(viewType) >= mMaxScrap.get(viewType) && mCardViewPool.release(findCard(scrap.itemView))) {
+            return;
+        }
+
+        super.putRecycledView(scrap);
+    }
+
+    /**
+     * Moves every pooled card to the {@link CardViewPool}. Call when the grids are destroyed.
+     */
+    public void releaseCards() {
+        for (int i = 0; i < mMaxScrap.size(); i++) {
+            int viewType = mMaxScrap.keyAt(i);
+            RecyclerView.ViewHolder holder;
+
+            while ((holder = getRecycledView(viewType)) != null) {
+                mCardViewPool.release(findCard(holder.itemView));
+            }
+        }
+
+        clear();
+    }
+
+    /**
+     * Item view could be wrapped (e.g. ShadowOverlayContainer)
+     */
+    private static FlatVideoCardView findCard(View itemView) {
+        if (itemView instanceof FlatVideoCardView) {
+            return (FlatVideoCardView) itemView;
+        }
+
+        if (itemView instanceof ViewGroup && ((ViewGroup) itemView).getChildCount() == 1) {
+            View child = ((ViewGroup) itemView).getChildAt(0);
+            return child instanceof FlatVideoCardView ? (FlatVideoCardView) child : null;
+        }
+
+        return null;
+    }
+}
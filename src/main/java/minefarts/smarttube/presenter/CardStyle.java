@@ -0,0 +1,91 @@
+package minefarts.smarttube.presenter;
+
+import android.content.Context;
+import android.content.res.Resources.Theme;
+import android.util.Pair;
+import androidx.core.content.ContextCompat;
+import com.liskovsoft.sharedutils.helpers.Helpers;
+import com.liskovsoft.smartyoutubetv2.common.prefs.MainUIData;
+import com.liskovsoft.smartyoutubetv2.common.prefs.common.DataChangeBase.OnDataChange;
+import minefarts.smarttube.R;
+import minefarts.smarttube.ui.browse.video.GridFragmentHelper;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Snapshot of the theme colors, card strings and card prefs shared by all card presenters.<br/>
+ * Rebuilt only when the theme changes or {@link MainUIData} notifies about changes.<br/>
+ * So the view creation and binding don't touch resources and prefs.
+ */
+public final class CardStyle {
+    private static CardStyle sInstance;
+    private static OnDataChange sOnDataChange;
+    private final WeakReference<Theme> mTheme;
+    public final int defaultBackgroundColor;
+    public final int defaultTextColor;
+    public final int selectedBackgroundColor;
+    public final int selectedTextColor;
+    public final int badgeColor;
+    public final int badgeAccentColor;
+    public final String badgeNewContent;
+    public final String badgeLive;
+    public final String badgeShorts;
+    public final int cardPreviewType;
+    public final int thumbQuality;
+    public final boolean isMultilineTitleEnabled;
+    public final boolean isMultilineSubtitleEnabled;
+    public final boolean isTextAutoScrollEnabled;
+    public final float textScrollSpeed;
+    public final float videoGridScale;
+
+    private CardStyle(Context context) {
+        mTheme = new WeakReference<>(context.getTheme());
+
+        defaultBackgroundColor = ContextCompat.getColor(context, Helpers.getThemeAttr(context, R.attr.cardDefaultBackground));
+        defaultTextColor = ContextCompat.getColor(context, R.color.card_default_text);
+        selectedBackgroundColor = ContextCompat.getColor(context, Helpers.getThemeAttr(context, R.attr.cardSelectedBackground));
+        selectedTextColor = ContextCompat.getColor(context, R.color.card_selected_text_grey);
+        badgeColor = ContextCompat.getColor(context, R.color.black);
+        badgeAccentColor = ContextCompat.getColor(context, R.color.dark_red);
+        badgeNewContent = context.getString(R.string.badge_new_content);
+        badgeLive = context.getString(R.string.badge_live);
+        badgeShorts = context.getString(R.string.header_shorts).toUpperCase();
+
+        MainUIData mainUIData = MainUIData.instance(context);
+        cardPreviewType = mainUIData.getCardPreviewType();
+        thumbQuality = mainUIData.getThumbQuality();
+        isMultilineTitleEnabled = mainUIData.isCardMultilineTitleEnabled();
+        isMultilineSubtitleEnabled = mainUIData.isCardMultilineSubtitleEnabled();
+        isTextAutoScrollEnabled = mainUIData.isCardTextAutoScrollEnabled();
+        textScrollSpeed = mainUIData.getCardTextScrollSpeed();
+        videoGridScale = mainUIData.getVideoGridScale();
+    }
+
+    /**
+     * Cheap. Returns cached snapshot unless the theme or the prefs has been changed.
+     */
+    public static CardStyle instance(Context context) {
+        if (sInstance == null || sInstance.mTheme.get() != context.getTheme()) {
+            sInstance = new CardStyle(context);
+            listenPrefs(context);
+        }
+
+        return sInstance;
+    }
+
+    /**
+     * Card size scaled by the user grid scale. Cached by {@link GridFragmentHelper} per display config.
+     */
+    public Pair<Integer, Integer> getCardDimensPx(Context context, int cardWidthResId, int cardHeightResId, boolean isSingleColumn) {
+        return GridFragmentHelper.getCardDimensPx(context, cardWidthResId, cardHeightResId, videoGridScale, isSingleColumn);
+    }
+
+    private static void listenPrefs(Context context) {
+        if (sOnDataChange != null) {
+            return;
+        }
+
+        sOnDataChange = () -> sInstance = null;
+        MainUIData.instance(context).setOnChange(sOnDataChange);
+    }
+}
@@ -0,0 +1,192 @@
+package minefarts.smarttube.presenter;
+
+import android.app.Activity;
+import android.app.Application;
+import android.app.Application.ActivityLifecycleCallbacks;
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.os.Bundle;
+import android.os.Looper;
+import android.view.ViewGroup;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import minefarts.smarttube.ui.widgets.complexcardview.FlatVideoCardView;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Process-wide pool of detached card views keyed by the presenter type and the card dimensions.<br/>
+ * Shared between the rows, sections and the player suggestions.<br/>
+ * Filled from the overflow of the row grids (see {@link CardRecycledViewPool}) and during idle time after startup.<br/>
+ * NOTE: views are handed out only to the same context they were created with (themes, no activity leaks).
+ */
+public class CardViewPool {
+    private static final int MAX_CARDS_PER_KEY = 12;
+    private static CardViewPool sInstance;
+    private final Map<Context, Map<String, ArrayDeque<FlatVideoCardView>>> mPools = new HashMap<>();
+
+    public interface CardFactory {
+        FlatVideoCardView createCard();
+    }
+
+    private CardViewPool(Context context) {
+        Context appContext = context.getApplicationContext();
+
+        if (appContext instanceof Application) {
+            ((Application) appContext).registerActivityLifecycleCallbacks(new ActivityLifecycleCallbacks() {
+                @Override
+                public void onActivityDestroyed(@NonNull Activity activity) {
+                    clear(activity);
+                }
+
+                @Override
+                public void onActivityCreated(@NonNull Activity activity, @Nullable Bundle savedInstanceState) {
+                    // NOP
+                }
+
+                @Override
+                public void onActivityStarted(@NonNull Activity activity) {
+                    // NOP
+                }
+
+                @Override
+                public void onActivityResumed(@NonNull Activity activity) {
+                    // NOP
+                }
+
+                @Override
+                public void onActivityPaused(@NonNull Activity activity) {
+                    // NOP
+                }
+
+                @Override
+                public void onActivityStopped(@NonNull Activity activity) {
+                    // NOP
+                }
+
+                @Override
+                public void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle outState) {
+                    // NOP
+                }
+            });
+        }
+    }
+
+    public static CardViewPool instance(Context context) {
+        if (sInstance == null) {
+            sInstance = new CardViewPool(context);
+        }
+
+        return sInstance;
+    }
+
+    /**
+     * @return detached card or null
+     */
+    public FlatVideoCardView obtain(Context context, String key) {
+        ArrayDeque<FlatVideoCardView> cards = getCards(context, key, false);
+
+        return cards != null ? cards.pollFirst() : null;
+    }
+
+    /**
+     * Detaches the card and keeps it for the later use
+     * @return false if the card isn't poolable or the pool is full
+     */
+    public boolean release(FlatVideoCardView card) {
+        if (card == null || card.getPoolKey() == null) {
+            return false;
+        }
+
+        ArrayDeque<FlatVideoCardView> cards = getCards(card.getContext(), card.getPoolKey(), true);
+
+        if (cards == null || cards.size() >= MAX_CARDS_PER_KEY || cards.contains(card)) {
+            return false;
+        }
+
+        if (card.getParent() instanceof ViewGroup) {
+            ((ViewGroup) card.getParent()).removeView(card); // e.g. shadow overlay wrapper
+        }
+
+        card.reset();
+        cards.addLast(card);
+
+        return true;
+    }
+
+    /**
+     * Inflates missing cards one per idle pass of the main looper.<br/>
+     * Stops when the activity of the context is finishing or destroyed.
+     */
+    public void prefill(Context context, String key, int count, CardFactory factory) {
+        Looper.myQueue().addIdleHandler(() -> {
+            ArrayDeque<FlatVideoCardView> cards = getCards(context, key, true);
+
+            if (cards == null || cards.size() >= Math.min(count, MAX_CARDS_PER_KEY)) {
+                return false;
+            }
+
+            FlatVideoCardView card = factory.createCard();
+            card.setPoolKey(key);
+            cards.addLast(card);
+
+            return true; // keep going on the next idle
+        });
+    }
+
+    /**
+     * Pool of a dead activity is never created again: {@link #clear} has already run for it
+     */
+    private ArrayDeque<FlatVideoCardView> getCards(Context context, String key, boolean create) {
+        Map<String, ArrayDeque<FlatVideoCardView>> pool = mPools.get(context);
+
+        if (pool == null) {
+            if (!create || !isAlive(context)) {
+                return null;
+            }
+
+            pool = new HashMap<>();
+            mPools.put(context, pool);
+        }
+
+        ArrayDeque<FlatVideoCardView> cards = pool.get(key);
+
+        if (cards == null && create) {
+            cards = new ArrayDeque<>();
+            pool.put(key, cards);
+        }
+
+        return cards;
+    }
+
+    private void clear(Activity activity) {
+        Iterator<Context> iterator = mPools.keySet().iterator();
+
+        while (iterator.hasNext()) {
+            if (getActivity(iterator.next()) == activity) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static boolean isAlive(Context context) {
+        Activity activity = getActivity(context);
+
+        return activity == null || !(activity.isFinishing() || activity.isDestroyed());
+    }
+
+    private static Activity getActivity(Context context) {
+        while (context instanceof ContextWrapper) {
+            if (context instanceof Activity) {
+                return (Activity) context;
+            }
+
+            context = ((ContextWrapper) context).getBaseContext();
+        }
+
+        return null;
+    }
+}
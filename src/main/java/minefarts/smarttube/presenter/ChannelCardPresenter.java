@@ -11,19 +11,15 @@ import android.view.ViewGroup;
 import android.widget.ImageView;
 import android.widget.TextView;
 import androidx.annotation.Nullable;
-import androidx.core.content.ContextCompat;
 import com.bumptech.glide.Glide;
 import com.bumptech.glide.load.DataSource;
 import com.bumptech.glide.load.engine.GlideException;
 import com.bumptech.glide.request.RequestListener;
 import com.bumptech.glide.request.target.Target;
-import com.liskovsoft.sharedutils.helpers.Helpers;
 import com.liskovsoft.sharedutils.mylogger.Log;
 import com.liskovsoft.smartyoutubetv2.common.app.models.data.Video;
-import com.liskovsoft.smartyoutubetv2.common.prefs.MainUIData;
 import minefarts.smarttube.R;
 import minefarts.smarttube.presenter.base.LongClickPresenter;
-import minefarts.smarttube.ui.browse.video.GridFragmentHelper;
 import minefarts.smarttube.util.ViewUtil;
 
 public class ChannelCardPresenter extends LongClickPresenter {
@@ -40,18 +36,15 @@ public class ChannelCardPresenter extends LongClickPresenter {
     public ViewHolder onCreateViewHolder(ViewGroup parent) {
         Context context = parent.getContext();
 
-        mDefaultBackgroundColor =
-                ContextCompat.getColor(context, Helpers.getThemeAttr(context, R.attr.cardDefaultBackground));
-        mDefaultTextColor =
-                ContextCompat.getColor(context, R.color.card_default_text);
-        mNewContentBackgroundColor =
-                ContextCompat.getColor(context, R.color.dark_red);
-        mSelectedBackgroundColor =
-                ContextCompat.getColor(context, Helpers.getThemeAttr(context, R.attr.cardSelectedBackground));
-        mSelectedTextColor =
-                ContextCompat.getColor(context, R.color.card_selected_text_grey);
+        CardStyle style = CardStyle.instance(context);
 
-        updateDimensions(context);
+        mDefaultBackgroundColor = style.defaultBackgroundColor;
+        mDefaultTextColor = style.defaultTextColor;
+        mNewContentBackgroundColor = style.badgeAccentColor;
+        mSelectedBackgroundColor = style.selectedBackgroundColor;
+        mSelectedTextColor = style.selectedTextColor;
+
+        updateDimensions(context, style);
 
         @SuppressLint("InflateParams")
         View container = LayoutInflater.from(context).inflate(R.layout.channel_card, null);
@@ -64,9 +57,9 @@ public class ChannelCardPresenter extends LongClickPresenter {
         textView.setBackgroundColor(mDefaultBackgroundColor);
         textView.setTextColor(mDefaultTextColor);
 
-        boolean autoScrollEnabled = isCardTextAutoScrollEnabled(context);
+        boolean autoScrollEnabled = style.isTextAutoScrollEnabled;
         if (autoScrollEnabled) {
-            ViewUtil.setTextScrollSpeed(textView, getCardTextScrollSpeed(context));
+            ViewUtil.setTextScrollSpeed(textView, style.textScrollSpeed);
         }
 
         container.setOnFocusChangeListener((v, hasFocus) -> {
@@ -126,27 +119,15 @@ public class ChannelCardPresenter extends LongClickPresenter {
         imageView.setImageDrawable(null);
     }
 
-    private void updateDimensions(Context context) {
-        Pair<Integer, Integer> dimens = getCardDimensPx(context);
+    private void updateDimensions(Context context, CardStyle style) {
+        Pair<Integer, Integer> dimens = getCardDimensPx(context, style);
 
         mWidth = dimens.first;
         mHeight = dimens.second;
     }
 
-    protected Pair<Integer, Integer> getCardDimensPx(Context context) {
-        return GridFragmentHelper.getCardDimensPx(
-                context, R.dimen.channel_card_width,
-                R.dimen.channel_card_height,
-                MainUIData.instance(context).getVideoGridScale(),
-                true);
-    }
-
-    protected boolean isCardTextAutoScrollEnabled(Context context) {
-        return MainUIData.instance(context).isCardTextAutoScrollEnabled();
-    }
-
-    protected float getCardTextScrollSpeed(Context context) {
-        return MainUIData.instance(context).getCardTextScrollSpeed();
+    protected Pair<Integer, Integer> getCardDimensPx(Context context, CardStyle style) {
+        return style.getCardDimensPx(context, R.dimen.channel_card_width, R.dimen.channel_card_height, true);
     }
 
     private final RequestListener<Drawable> mErrorListener = new RequestListener<Drawable>() {
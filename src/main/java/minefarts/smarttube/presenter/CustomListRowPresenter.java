@@ -1,11 +1,40 @@
 package minefarts.smarttube.presenter;
 
 import androidx.leanback.widget.ListRowPresenter;
+import androidx.leanback.widget.RowPresenter;
 import minefarts.smarttube.util.ViewUtil;
 
 public class CustomListRowPresenter extends ListRowPresenter {
+    private CardRecycledViewPool mCardPool;
+
     public CustomListRowPresenter() {
         super(ViewUtil.FOCUS_ZOOM_FACTOR, ViewUtil.FOCUS_DIMMER_ENABLED);
         setSelectEffectEnabled(ViewUtil.ROW_SELECT_EFFECT_ENABLED);
     }
+
+    /**
+     * All rows of the presenter share the same pool.<br/>
+     * NOTE: RowsSupportFragment adopts the pool of the first row for the rest of the rows.
+     */
+    @Override
+    protected void initializeRowViewHolder(RowPresenter.ViewHolder holder) {
+        super.initializeRowViewHolder(holder);
+
+        ViewHolder rowViewHolder = (ViewHolder) holder;
+
+        if (mCardPool == null) {
+            mCardPool = new CardRecycledViewPool(rowViewHolder.getGridView().getContext());
+        }
+
+        rowViewHolder.getGridView().setRecycledViewPool(mCardPool);
+    }
+
+    /**
+     * Moves pooled cards to the {@link CardViewPool}. Call when the rows are destroyed.
+     */
+    public void releaseCards() {
+        if (mCardPool != null) {
+            mCardPool.releaseCards();
+        }
+    }
 }
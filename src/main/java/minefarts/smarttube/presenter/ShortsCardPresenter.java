@@ -2,13 +2,11 @@ package minefarts.smarttube.presenter;
 
 import android.content.Context;
 import android.util.Pair;
-import com.liskovsoft.smartyoutubetv2.common.prefs.MainUIData;
 import minefarts.smarttube.R;
-import minefarts.smarttube.ui.browse.video.GridFragmentHelper;
 
 public class ShortsCardPresenter extends VideoCardPresenter {
     @Override
-    protected Pair<Integer, Integer> getCardDimensPx(Context context) {
-        return GridFragmentHelper.getCardDimensPx(context, R.dimen.shorts_card_width, R.dimen.shorts_card_height, MainUIData.instance(context).getVideoGridScale());
+    protected Pair<Integer, Integer> getCardDimensPx(Context context, CardStyle style) {
+        return style.getCardDimensPx(context, R.dimen.shorts_card_width, R.dimen.shorts_card_height, false);
     }
 }
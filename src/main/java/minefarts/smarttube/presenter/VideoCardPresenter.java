@@ -6,27 +6,26 @@ import android.graphics.Bitmap;
 import android.graphics.drawable.Drawable;
 import android.os.Build.VERSION;
 import android.util.Pair;
-import android.view.View;
 import android.view.ViewGroup;
-import android.widget.TextView;
 import androidx.annotation.Nullable;
-import androidx.core.content.ContextCompat;
 import androidx.leanback.widget.Presenter;
 import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestBuilder;
 import com.bumptech.glide.load.DataSource;
 import com.bumptech.glide.load.engine.DiskCacheStrategy;
 import com.bumptech.glide.load.engine.GlideException;
 import com.bumptech.glide.request.RequestListener;
 import com.bumptech.glide.request.target.Target;
-import com.liskovsoft.sharedutils.helpers.Helpers;
 import com.liskovsoft.sharedutils.mylogger.Log;
 import com.liskovsoft.smartyoutubetv2.common.app.models.data.Video;
 import com.liskovsoft.smartyoutubetv2.common.prefs.MainUIData;
 import com.liskovsoft.smartyoutubetv2.common.utils.ClickbaitRemover;
 import minefarts.smarttube.R;
 import minefarts.smarttube.presenter.base.LongClickPresenter;
-import minefarts.smarttube.ui.browse.video.GridFragmentHelper;
-import minefarts.smarttube.ui.widgets.complexcardview.ComplexImageCardView;
+import minefarts.smarttube.ui.widgets.complexcardview.FlatVideoCardView;
+import minefarts.smarttube.util.DecodePolicy;
+import minefarts.smarttube.util.FrameMonitor;
+import minefarts.smarttube.util.ThumbnailLadder;
 import minefarts.smarttube.util.ViewUtil;
 
 /*
@@ -35,12 +34,7 @@ import minefarts.smarttube.util.ViewUtil;
  */
 public class VideoCardPresenter extends LongClickPresenter {
     private static final String TAG = VideoCardPresenter.class.getSimpleName();
-    private int mDefaultBackgroundColor = -1;
-    private int mDefaultTextColor = -1;
-    private int mSelectedBackgroundColor = -1;
-    private int mSelectedTextColor = -1;
-    private int mCardPreviewType;
-    private int mThumbQuality;
+    private CardStyle mStyle;
     private int mWidth;
     private int mHeight;
 
@@ -48,81 +42,43 @@ public class VideoCardPresenter extends LongClickPresenter {
     public ViewHolder onCreateViewHolder(ViewGroup parent) {
         Context context = parent.getContext();
 
-        mDefaultBackgroundColor =
-            ContextCompat.getColor(context, Helpers.getThemeAttr(context, R.attr.cardDefaultBackground));
-        mDefaultTextColor =
-                ContextCompat.getColor(context, R.color.card_default_text);
-        mSelectedBackgroundColor =
-                ContextCompat.getColor(context, Helpers.getThemeAttr(context, R.attr.cardSelectedBackground));
-        mSelectedTextColor =
-                ContextCompat.getColor(context, R.color.card_selected_text_grey);
-
-        mCardPreviewType = getCardPreviewType(context);
-        mThumbQuality = getThumbQuality(context);
-
-        boolean isCardMultilineTitleEnabled = isCardMultilineTitleEnabled(context);
-        boolean isCardMultilineSubtitleEnabled = isCardMultilineSubtitleEnabled(context);
-        boolean isCardTextAutoScrollEnabled = isCardTextAutoScrollEnabled(context);
-        float cardTextScrollSpeed = getCardTextScrollSpeed(context);
+        mStyle = CardStyle.instance(context);
 
         updateDimensions(context);
 
-        ComplexImageCardView cardView = new ComplexImageCardView(context) {
-            @Override
-            public void setSelected(boolean selected) {
-                updateCardBackgroundColor(this, selected);
-                super.setSelected(selected);
-            }
-        };
+        String poolKey = getPoolKey();
+        FlatVideoCardView cardView = CardViewPool.instance(context).obtain(context, poolKey);
 
-        cardView.setTitleLinesNum(isCardMultilineTitleEnabled ? 2 : 1);
-        cardView.setContentLinesNum(isCardMultilineSubtitleEnabled ? 2 : 1);
-        cardView.enableTextAutoScroll(isCardTextAutoScrollEnabled);
-        cardView.setTextScrollSpeed(cardTextScrollSpeed);
+        if (cardView == null) {
+            cardView = new FlatVideoCardView(context);
+            cardView.setPoolKey(poolKey);
+        }
+
+        cardView.setThumbnailDimensions(mWidth, mHeight);
+        cardView.setCardColors(mStyle.defaultBackgroundColor, mStyle.defaultTextColor, mStyle.selectedBackgroundColor, mStyle.selectedTextColor);
+        cardView.setTitleLinesNum(isCardMultilineTitleEnabled(mStyle) ? 2 : 1);
+        cardView.setContentLinesNum(mStyle.isMultilineSubtitleEnabled ? 2 : 1);
+        cardView.enableTextAutoScroll(mStyle.isTextAutoScrollEnabled);
+        cardView.setTextScrollSpeed(mStyle.textScrollSpeed);
         cardView.setFocusable(true);
         cardView.setFocusableInTouchMode(true);
         cardView.enableBadge(isBadgeEnabled());
         cardView.enableTitle(isTitleEnabled());
         cardView.enableContent(isContentEnabled());
-        cardView.setBackgroundColor(mDefaultBackgroundColor); // background is temporarily visible during animations
+        cardView.setBackgroundColor(mStyle.defaultBackgroundColor); // background is temporarily visible during animations
         //if (VERSION.SDK_INT >= 23 && MainUIData.instance(context).isUiTweakEnabled(MainUIData.UI_TWEAK_ROUNDED_CORNERS)) {
         //    cardView.setForeground(ContextCompat.getDrawable(context, R.drawable.lb_card_outline));
         //}
-        updateCardBackgroundColor(cardView, false);
         return new ViewHolder(cardView);
     }
 
-    private void updateCardBackgroundColor(ComplexImageCardView view, boolean selected) {
-        int backgroundColor = selected ? mSelectedBackgroundColor : mDefaultBackgroundColor;
-        int textColor = selected ? mSelectedTextColor : mDefaultTextColor;
-
-        // Both background colors should be set because the view's
-        // background is temporarily visible during animations.
-        // NOTE: has visual bug with rounded corners
-        //view.setBackgroundColor(backgroundColor);
-
-        View infoField = view.findViewById(R.id.info_field);
-        if (infoField != null) {
-            infoField.setBackgroundColor(backgroundColor);
-        }
-
-        TextView titleText = view.findViewById(R.id.title_text);
-        if (titleText != null) {
-            titleText.setTextColor(textColor);
-        }
-        TextView contentText = view.findViewById(R.id.content_text);
-        if (contentText != null) {
-            contentText.setTextColor(textColor);
-        }
-    }
-
     @Override
     public void onBindViewHolder(Presenter.ViewHolder viewHolder, Object item) {
         super.onBindViewHolder(viewHolder, item);
 
         Video video = (Video) item;
 
-        ComplexImageCardView cardView = (ComplexImageCardView) viewHolder.view;
+        FlatVideoCardView cardView = (FlatVideoCardView) viewHolder.view;
         Context context = cardView.getContext();
 
         cardView.setTitleText(video.getTitle());
@@ -130,96 +86,136 @@ public class VideoCardPresenter extends LongClickPresenter {
         // Count progress that very close to zero. E.g. when user closed video immediately.
         cardView.setProgress(video.percentWatched > 0 && video.percentWatched < 1 ? 1 : Math.round(video.percentWatched));
         cardView.setBadgeText(
-                video.hasNewContent ? context.getString(R.string.badge_new_content) :
-                video.isLive ? context.getString(R.string.badge_live) :
-                video.isShorts ? context.getString(R.string.header_shorts).toUpperCase() :
+                video.hasNewContent ? mStyle.badgeNewContent :
+                video.isLive ? mStyle.badgeLive :
+                video.isShorts ? mStyle.badgeShorts :
                 video.badge
         );
-        cardView.setBadgeColor(video.hasNewContent || video.isLive || video.isUpcoming ?
-                ContextCompat.getColor(context, R.color.dark_red) : ContextCompat.getColor(context, R.color.black));
+        cardView.setBadgeColor(video.hasNewContent || video.isLive || video.isUpcoming ? mStyle.badgeAccentColor : mStyle.badgeColor);
 
-        if (mCardPreviewType != MainUIData.CARD_PREVIEW_DISABLED) {
+        if (mStyle.cardPreviewType != MainUIData.CARD_PREVIEW_DISABLED) {
             cardView.setPreview(video);
-            cardView.setMute(mCardPreviewType == MainUIData.CARD_PREVIEW_MUTED);
+            cardView.setMute(mStyle.cardPreviewType == MainUIData.CARD_PREVIEW_MUTED);
         }
 
-        cardView.setMainImageDimensions(mWidth, mHeight);
+        cardView.setThumbnailDimensions(mWidth, mHeight);
+
+        FrameMonitor.instance().onEvent(FrameMonitor.EVENT_IMAGE_BIND);
 
         if (context instanceof Activity && ((Activity) context).isDestroyed()) {
             // Glide.with(context): IllegalArgumentException: You cannot start a load for a destroyed activity
             return;
         }
 
-        Glide.with(context)
+        String lowResUrl = ThumbnailLadder.getLowResUrl(ClickbaitRemover.updateThumbnail(video, mStyle.thumbQuality));
+
+        if (lowResUrl == null) {
+            createThumbnailRequest(context, video)
+                    .into(cardView.getThumbnailTarget());
+            return;
+        }
+
+        // Progressive loading: small thumbnail while scrolling, configured quality when settled or focused
+        createLowResThumbnailRequest(context, lowResUrl)
+                .error(createThumbnailRequest(context, video))
+                .into(cardView.getThumbnailTarget());
+
+        cardView.setThumbnailUpgrade(() -> {
+            if (context instanceof Activity && ((Activity) context).isDestroyed()) {
+                return;
+            }
+
+            createThumbnailRequest(context, video)
+                    .thumbnail(createLowResThumbnailRequest(context, lowResUrl)) // memory cached, no blank frame
+                    .into(cardView.getThumbnailTarget());
+        });
+    }
+
+    private RequestBuilder<Drawable> createThumbnailRequest(Context context, Video video) {
+        return Glide.with(context)
                 //.asBitmap() // disable animation (webp, gif)
-                .load(ClickbaitRemover.updateThumbnail(video, mThumbQuality))
+                .load(ClickbaitRemover.updateThumbnail(video, mStyle.thumbQuality))
                 //.placeholder(mDefaultCardImage)
                 .apply(ViewUtil.glideOptions())
+                .apply(DecodePolicy.options(context, DecodePolicy.TYPE_CARD_THUMBNAIL))
                 // improve image compression on low end devices
                 .override(mWidth, mHeight)
                 // minefarts.smarttube.util.CacheGlideModule
                 // Cache makes app crashing on old android versions
                 .diskCacheStrategy(VERSION.SDK_INT > 21 ? DiskCacheStrategy.ALL : DiskCacheStrategy.NONE)
                 .listener(mErrorListener)
+                .addListener(DecodePolicy.track(DecodePolicy.TYPE_CARD_THUMBNAIL))
                 .error(
                     // Updated thumbnail url not found
                     Glide.with(context)
                         .load(video.cardImageUrl) // always working
                         //.placeholder(mDefaultCardImage)
                         .apply(ViewUtil.glideOptions())
+                        .apply(DecodePolicy.options(context, DecodePolicy.TYPE_CARD_THUMBNAIL))
                         .listener(mErrorListener)
+                        .addListener(DecodePolicy.track(DecodePolicy.TYPE_CARD_THUMBNAIL))
                         .error(R.drawable.card_placeholder) // R.color.lb_grey
-                )
-                .into(cardView.getMainImageView());
+                );
+    }
+
+    /**
+     * Static 320x180 image, kept in the memory cache so the upgrade could show it instantly
+     */
+    private RequestBuilder<Drawable> createLowResThumbnailRequest(Context context, String lowResUrl) {
+        return Glide.with(context)
+                .load(lowResUrl)
+                .apply(DecodePolicy.options(context, DecodePolicy.TYPE_CARD_THUMBNAIL))
+                .dontAnimate()
+                .override(Target.SIZE_ORIGINAL)
+                .diskCacheStrategy(VERSION.SDK_INT > 21 ? DiskCacheStrategy.ALL : DiskCacheStrategy.NONE)
+                .listener(mErrorListener)
+                .addListener(DecodePolicy.track(DecodePolicy.TYPE_CARD_THUMBNAIL));
     }
 
     @Override
     public void onUnbindViewHolder(Presenter.ViewHolder viewHolder) {
         super.onUnbindViewHolder(viewHolder);
 
-        ComplexImageCardView cardView = (ComplexImageCardView) viewHolder.view;
+        FlatVideoCardView cardView = (FlatVideoCardView) viewHolder.view;
 
-        // Remove references to images so that the garbage collector can free up memory.
-        cardView.setBadgeImage(null);
-        cardView.setMainImage(null);
+        cardView.setThumbnailUpgrade(null);
 
         // Cleanup Glide resources. https://chatgpt.com/share/682120c5-e428-8010-b848-371b2dec0cd5
-        Glide.with(cardView.getContext().getApplicationContext()).clear(cardView.getMainImageView());
-    }
-
-    private void updateDimensions(Context context) {
-        Pair<Integer, Integer> dimens = getCardDimensPx(context);
+        Glide.with(cardView.getContext().getApplicationContext()).clear(cardView.getThumbnailTarget());
 
-        mWidth = dimens.first;
-        mHeight = dimens.second;
-    }
-    
-    protected Pair<Integer, Integer> getCardDimensPx(Context context) {
-        return GridFragmentHelper.getCardDimensPx(context, R.dimen.card_width, R.dimen.card_height, MainUIData.instance(context).getVideoGridScale());
+        // Remove references to images so that the garbage collector can free up memory.
+        cardView.setThumbnail(null);
     }
 
-    protected boolean isCardTextAutoScrollEnabled(Context context) {
-        return MainUIData.instance(context).isCardTextAutoScrollEnabled();
+    /**
+     * Inflates cards in the idle time so that the first rows are bound without the inflation
+     */
+    public void prefill(Context context, int count) {
+        mStyle = CardStyle.instance(context);
+        updateDimensions(context);
+        CardViewPool.instance(context).prefill(context, getPoolKey(), count, () -> new FlatVideoCardView(context));
     }
 
-    protected int getCardPreviewType(Context context) {
-        return MainUIData.instance(context).getCardPreviewType();
+    /**
+     * Cards of the same presenter type and size are interchangeable
+     */
+    private String getPoolKey() {
+        return getClass().getSimpleName() + "@" + mWidth + "x" + mHeight;
     }
 
-    protected boolean isCardMultilineTitleEnabled(Context context) {
-        return MainUIData.instance(context).isCardMultilineTitleEnabled();
-    }
+    private void updateDimensions(Context context) {
+        Pair<Integer, Integer> dimens = getCardDimensPx(context, mStyle);
 
-    protected boolean isCardMultilineSubtitleEnabled(Context context) {
-        return MainUIData.instance(context).isCardMultilineSubtitleEnabled();
+        mWidth = dimens.first;
+        mHeight = dimens.second;
     }
-
-    protected float getCardTextScrollSpeed(Context context) {
-        return MainUIData.instance(context).getCardTextScrollSpeed();
+    
+    protected Pair<Integer, Integer> getCardDimensPx(Context context, CardStyle style) {
+        return style.getCardDimensPx(context, R.dimen.card_width, R.dimen.card_height, false);
     }
 
-    protected int getThumbQuality(Context context) {
-        return MainUIData.instance(context).getThumbQuality();
+    protected boolean isCardMultilineTitleEnabled(CardStyle style) {
+        return style.isMultilineTitleEnabled;
     }
 
     protected boolean isContentEnabled() {
@@ -38,6 +38,7 @@ import minefarts.smarttube.presenter.IconHeaderItemPresenter;
 import minefarts.smarttube.ui.browse.dialog.ErrorDialogFragment;
 import minefarts.smarttube.ui.mod.leanback.headers.ExtendedHeadersSupportFragment;
 import minefarts.smarttube.ui.mod.leanback.misc.ProgressBarManager;
+import minefarts.smarttube.util.FrameMonitor;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -133,7 +134,7 @@ public class BrowseFragment extends BrowseSupportFragment implements BrowseView
                         getHeadersSupportFragment().setSelectedPosition(newPosition);
                     } else {
                         // update section when clicked or pressed
-                        mBrowsePresenter.onSectionFocused((int) headerId);
+                        onSectionFocused((int) headerId);
                         startHeadersTransitionSafe(false);
                     }
                 }
@@ -154,7 +155,7 @@ public class BrowseFragment extends BrowseSupportFragment implements BrowseView
         mSectionFragmentFactory = new BrowseSectionFragmentFactory(
                 (row) -> {
                     focusOnContentIfNeeded();
-                    mBrowsePresenter.onSectionFocused(getSelectedHeaderId());
+                    onSectionFocused(getSelectedHeaderId());
                 }
         );
 
@@ -235,6 +236,13 @@ public class BrowseFragment extends BrowseSupportFragment implements BrowseView
         });
     }
 
+    private void onSectionFocused(int sectionId) {
+        BrowseSection section = mSections.get(sectionId);
+        FrameMonitor.instance().setScreen("Browse: " + (section != null ? section.getTitle() : sectionId));
+
+        mBrowsePresenter.onSectionFocused(sectionId);
+    }
+
     private int getSelectedHeaderId() {
         if (getSelectedPosition() >= mSectionRowAdapter.size()) {
             return -1;
@@ -332,7 +340,7 @@ public class BrowseFragment extends BrowseSupportFragment implements BrowseView
                 // update section manually
                 // headers transition event not fired on the same index
                 focusOnContentIfNeeded();
-                mBrowsePresenter.onSectionFocused(getSelectedHeaderId());
+                onSectionFocused(getSelectedHeaderId());
             }
 
             // Need select again if current header is removed previously (can't check for it right now)
@@ -1,17 +1,20 @@
 package minefarts.smarttube.ui.browse.video;
 
+import android.content.ComponentCallbacks;
 import android.content.Context;
+import android.content.res.Configuration;
 import android.content.res.Resources;
 import android.graphics.Rect;
 import android.os.Build.VERSION;
 import android.util.DisplayMetrics;
 import android.util.Pair;
 import android.view.WindowManager;
+import androidx.annotation.NonNull;
 
 import com.liskovsoft.sharedutils.helpers.Helpers;
 import com.liskovsoft.smartyoutubetv2.common.app.models.data.VideoGroup;
-import com.liskovsoft.smartyoutubetv2.common.app.views.ViewManager;
 import com.liskovsoft.smartyoutubetv2.common.prefs.MainUIData;
+import com.liskovsoft.smartyoutubetv2.common.prefs.common.DataChangeBase.OnDataChange;
 import minefarts.smarttube.R;
 import minefarts.smarttube.adapter.VideoGroupObjectAdapter;
 
@@ -19,14 +22,33 @@ import java.util.HashMap;
 import java.util.Map;
 
 public class GridFragmentHelper {
-    private static final Map<Integer, Pair<Integer, Integer>> sCardDimensPx = new HashMap<>();
-    private static final Map<Integer, Float> sMaxColsNum = new HashMap<>();
-    private static final Runnable sInvalidate = GridFragmentHelper::invalidate;
+    private static final Map<MetricsKey, Pair<Integer, Integer>> sCardDimensPx = new HashMap<>();
+    private static final Map<MetricsKey, Float> sMaxColsNum = new HashMap<>();
     private static final int MIN_ADAPTER_SIZE = 6;
+    /**
+     * Card sizes are rounded down to the step so thumbnails requested on different screens share Glide cache keys
+     */
+    private static final int CARD_SIZE_STEP_PX = 8;
+    private static ComponentCallbacks sConfigCallbacks;
+    private static OnDataChange sOnDataChange;
+    private static ScreenMetrics sScreenMetrics;
 
     private static void invalidate() {
         sCardDimensPx.clear();
         sMaxColsNum.clear();
+        sScreenMetrics = null;
+    }
+
+    /**
+     * Display config and UI scale. Read once after each config or prefs change.
+     */
+    private static ScreenMetrics getScreenMetrics(Context context) {
+        if (sScreenMetrics == null) {
+            listenChanges(context);
+            sScreenMetrics = new ScreenMetrics(context);
+        }
+
+        return sScreenMetrics;
     }
 
     /**
@@ -44,24 +66,22 @@ public class GridFragmentHelper {
     }
 
     private static float getMaxColsNumFloat(Context context, int cardWidthResId, float cardScale) {
-        Float maxColsNum = sMaxColsNum.get(cardWidthResId);
+        ScreenMetrics metrics = getScreenMetrics(context);
+        MetricsKey key = new MetricsKey(metrics, cardWidthResId, 0, cardScale, false);
+        Float maxColsNum = sMaxColsNum.get(key);
 
         if (maxColsNum != null) {
             return maxColsNum;
         }
 
-        ViewManager.instance(context).addOnFinish(sInvalidate);
+        maxColsNum = getMaxColsNumFloatInt(context, metrics.mUIScale, cardWidthResId, cardScale);
 
-        maxColsNum = getMaxColsNumFloatInt(context, cardWidthResId, cardScale);
-
-        sMaxColsNum.put(cardWidthResId, maxColsNum);
+        sMaxColsNum.put(key, maxColsNum);
 
         return maxColsNum;
     }
 
-    private static float getMaxColsNumFloatInt(Context context, int cardWidthResId, float cardScale) {
-        float uiScale = MainUIData.instance(context).getUIScale();
-
+    private static float getMaxColsNumFloatInt(Context context, float uiScale, int cardWidthResId, float cardScale) {
         Resources res = context.getResources();
         int displayWidthPx;
 
@@ -90,14 +110,15 @@ public class GridFragmentHelper {
     }
 
     public static Pair<Integer, Integer> getCardDimensPx(Context context, int cardWidthResId, int cardHeightResId, float cardScale, boolean isSingleColumn) {
-        Pair<Integer, Integer> cardDimensPx = sCardDimensPx.get(cardWidthResId);
+        MetricsKey key = new MetricsKey(getScreenMetrics(context), cardWidthResId, cardHeightResId, cardScale, isSingleColumn);
+        Pair<Integer, Integer> cardDimensPx = sCardDimensPx.get(key);
         if (cardDimensPx != null) {
             return cardDimensPx;
         }
 
         cardDimensPx = getCardDimensPxInt(context, cardWidthResId, cardHeightResId, cardScale, isSingleColumn);
 
-        sCardDimensPx.put(cardWidthResId, cardDimensPx);
+        sCardDimensPx.put(key, cardDimensPx);
 
         return cardDimensPx;
     }
@@ -124,67 +145,121 @@ public class GridFragmentHelper {
             width -= res.getDimensionPixelSize(R.dimen.grid_horizontal_margin);
         }
 
-        return new Pair<>((int) width, (int) height);
+        return new Pair<>(quantize(width), quantize(height));
     }
 
-    public interface RowFreezer {
-        void freeze(boolean freeze);
+    private static int quantize(float sizePx) {
+        int size = (int) sizePx;
+        return Math.max(size - size % CARD_SIZE_STEP_PX, CARD_SIZE_STEP_PX);
     }
 
-    public static VideoGroupObjectAdapter findRelatedAdapter(Map<Integer, VideoGroupObjectAdapter> mediaGroupAdapters, VideoGroup group, RowFreezer freezer) {
-        if (group == null || mediaGroupAdapters == null) {
-            return null;
+    /**
+     * Rotation, window resize, density or UI scale change
+     */
+    private static void listenChanges(Context context) {
+        if (sOnDataChange == null) {
+            sOnDataChange = GridFragmentHelper::invalidate;
+            MainUIData.instance(context).setOnChange(sOnDataChange);
+        }
+
+        if (sConfigCallbacks != null) {
+            return;
         }
 
-        int mediaGroupId = group.getId();
-
-        VideoGroupObjectAdapter existingAdapter = mediaGroupAdapters.get(mediaGroupId);
-
-        // Find out could we continue an existing one (vertical scroll YouTube layout)
-        if (existingAdapter == null) {
-            Float value = sMaxColsNum.get(group.isShorts() ? R.dimen.shorts_card_width : R.dimen.card_width);
-            int minAdapterSize = value != null ? value.intValue() : MIN_ADAPTER_SIZE;
-
-            for (VideoGroupObjectAdapter adapter : mediaGroupAdapters.values()) {
-                if (canMergeWithGroup(adapter, group)) {
-                    // Remain other rows of the same type untitled (usually the such rows share the same titles)
-                    group.setTitle(null);
-
-                    if (adapter.size() < minAdapterSize && group.getSize() < minAdapterSize) {
-                        int missingCount = minAdapterSize - adapter.size();
-                        if (group.getSize() > missingCount) {
-                            // Split the group to match 'minAdapterSize'
-                            VideoGroup missingGroup = VideoGroup.from(group.getVideos().subList(0, missingCount));
-                            missingGroup.setId(missingGroup.hashCode());
-                            group.removeAllBefore(missingCount);
-                            freezer.freeze(true);
-                            adapter.add(missingGroup);
-                            freezer.freeze(false);
-                        } else {
-                            existingAdapter = adapter; // continue inside a caller
-                        }
-                        break;
-                    }
-                }
+        sConfigCallbacks = new ComponentCallbacks() {
+            @Override
+            public void onConfigurationChanged(@NonNull Configuration newConfig) {
+                invalidate();
+            }
+
+            @Override
+            public void onLowMemory() {
+                // NOP
             }
+        };
+
+        context.getApplicationContext().registerComponentCallbacks(sConfigCallbacks);
+    }
+
+    /**
+     * Small rows are merged until they fill the screen width
+     */
+    public static VideoGroupObjectAdapter findRelatedAdapter(Context context, Map<Integer, VideoGroupObjectAdapter> mediaGroupAdapters,
+                                                             VideoGroup group, RowMerger.RowFreezer freezer) {
+        if (group == null || mediaGroupAdapters == null) {
+            return null;
         }
 
-        return existingAdapter;
+        int minAdapterSize = context != null ? getMaxColsNum(context, group.isShorts() ? R.dimen.shorts_card_width : R.dimen.card_width,
+                MainUIData.instance(context).getVideoGridScale()) : MIN_ADAPTER_SIZE;
+
+        return RowMerger.findRelatedAdapter(mediaGroupAdapters, group, minAdapterSize, freezer);
     }
 
-    private static boolean canMergeWithGroup(VideoGroupObjectAdapter adapter, VideoGroup group) {
-        if (adapter.isEmpty())
-            return false;
-
-        VideoGroup lastGroup = adapter.getAll().get(adapter.size() - 1).getGroup();
-        boolean matchedRowFound = lastGroup != null
-                && lastGroup.getMediaGroup() != null
-                && lastGroup.getMediaGroup().getNextPageKey() == null
-                && group.getMediaGroup() != null
-                && group.getMediaGroup().getNextPageKey() == null
-                && lastGroup.isShorts() == group.isShorts()
-                && (Helpers.equals(lastGroup.getTitle(), group.getTitle())
-                    || lastGroup.getTitle() == null); // we could set title to null in the previous iteration
-        return matchedRowFound;
+    private static final class ScreenMetrics {
+        private final float mUIScale;
+        private final int mScreenWidthDp;
+        private final int mScreenHeightDp;
+        private final int mDensityDpi;
+
+        ScreenMetrics(Context context) {
+            Configuration config = context.getResources().getConfiguration();
+            mUIScale = MainUIData.instance(context).getUIScale();
+            mScreenWidthDp = config.screenWidthDp;
+            mScreenHeightDp = config.screenHeightDp;
+            mDensityDpi = config.densityDpi;
+        }
+    }
+
+    /**
+     * Everything that affects the card layout: dimens, user scales and the display config
+     */
+    private static final class MetricsKey {
+        private final int mWidthResId;
+        private final int mHeightResId;
+        private final float mCardScale;
+        private final float mUIScale;
+        private final boolean mIsSingleColumn;
+        private final int mScreenWidthDp;
+        private final int mScreenHeightDp;
+        private final int mDensityDpi;
+
+        MetricsKey(ScreenMetrics metrics, int widthResId, int heightResId, float cardScale, boolean isSingleColumn) {
+            mWidthResId = widthResId;
+            mHeightResId = heightResId;
+            mCardScale = cardScale;
+            mUIScale = metrics.mUIScale;
+            mIsSingleColumn = isSingleColumn;
+            mScreenWidthDp = metrics.mScreenWidthDp;
+            mScreenHeightDp = metrics.mScreenHeightDp;
+            mDensityDpi = metrics.mDensityDpi;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof MetricsKey)) {
+                return false;
+            }
+
+            MetricsKey other = (MetricsKey) obj;
+
+            return mWidthResId == other.mWidthResId && mHeightResId == other.mHeightResId &&
+                    Float.compare(mCardScale, other.mCardScale) == 0 && Float.compare(mUIScale, other.mUIScale) == 0 &&
+                    mIsSingleColumn == other.mIsSingleColumn && mScreenWidthDp == other.mScreenWidthDp &&
+                    mScreenHeightDp == other.mScreenHeightDp && mDensityDpi == other.mDensityDpi;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = mWidthResId;
+            result = 31 * result + mHeightResId;
+            result = 31 * result + Float.floatToIntBits(mCardScale);
+            result = 31 * result + Float.floatToIntBits(mUIScale);
+            result = 31 * result + (mIsSingleColumn ? 1 : 0);
+            result = 31 * result + mScreenWidthDp;
+            result = 31 * result + mScreenHeightDp;
+            result = 31 * result + mDensityDpi;
+            return result;
+        }
     }
 }
@@ -1,6 +1,7 @@
 package minefarts.smarttube.ui.browse.video;
 
 import android.os.Bundle;
+import android.view.View;
 import android.widget.Toast;
 import androidx.annotation.Nullable;
 import androidx.leanback.app.RowsSupportFragment;
@@ -42,9 +43,10 @@ import java.util.Map;
 
 public abstract class MultipleRowsFragment extends RowsSupportFragment implements VideoSection {
     private static final String TAG = MultipleRowsFragment.class.getSimpleName();
+    private static final int PREFILL_CARDS_NUM = 8;
     private UriBackgroundManager mBackgroundManager;
     private ArrayObjectAdapter mRowsAdapter;
-    private ListRowPresenter mRowPresenter;
+    private CustomListRowPresenter mRowPresenter;
     private Map<Integer, VideoGroupObjectAdapter> mVideoGroupAdapters;
     private final List<VideoGroup> mPendingUpdates = new ArrayList<>();
     private VideoGroupPresenter mMainPresenter;
@@ -67,6 +69,23 @@ public abstract class MultipleRowsFragment extends RowsSupportFragment implement
         applyPendingUpdates();
     }
 
+    @Override
+    public void onViewCreated(View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+
+        // Cards share the context of the grid
+        mCardPresenter.prefill(view.getContext(), PREFILL_CARDS_NUM);
+    }
+
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+
+        if (mRowPresenter != null) {
+            mRowPresenter.releaseCards();
+        }
+    }
+
     protected void addHeader(ChannelHeaderCallback callback) {
         mChannelHeaderCallback = callback;
     }
@@ -247,7 +266,7 @@ public abstract class MultipleRowsFragment extends RowsSupportFragment implement
             return;
         }
 
-        VideoGroupObjectAdapter existingAdapter = GridFragmentHelper.findRelatedAdapter(mVideoGroupAdapters, group, this::freeze);
+        VideoGroupObjectAdapter existingAdapter = GridFragmentHelper.findRelatedAdapter(getContext(), mVideoGroupAdapters, group, this::freeze);
 
         if (existingAdapter == null) {
             HeaderItem rowHeader = new HeaderItem(group.getTitle());
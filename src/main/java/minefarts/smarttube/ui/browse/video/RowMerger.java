@@ -0,0 +1,75 @@
+package minefarts.smarttube.ui.browse.video;
+
+import com.liskovsoft.sharedutils.helpers.Helpers;
+import com.liskovsoft.smartyoutubetv2.common.app.models.data.VideoGroup;
+import minefarts.smarttube.adapter.VideoGroupObjectAdapter;
+
+import java.util.Map;
+
+/**
+ * Continues short rows of the same type (vertical scroll YouTube layout).<br/>
+ * Free of android resources so it could be measured outside of the device.
+ */
+public final class RowMerger {
+    public interface RowFreezer {
+        void freeze(boolean freeze);
+    }
+
+    private RowMerger() {
+    }
+
+    public static VideoGroupObjectAdapter findRelatedAdapter(Map<Integer, VideoGroupObjectAdapter> mediaGroupAdapters, VideoGroup group,
+                                                             int minAdapterSize, RowFreezer freezer) {
+        if (group == null || mediaGroupAdapters == null) {
+            return null;
+        }
+
+        int mediaGroupId = group.getId();
+
+        VideoGroupObjectAdapter existingAdapter = mediaGroupAdapters.get(mediaGroupId);
+
+        // Find out could we continue an existing one (vertical scroll YouTube layout)
+        if (existingAdapter == null) {
+            for (VideoGroupObjectAdapter adapter : mediaGroupAdapters.values()) {
+                if (canMergeWithGroup(adapter, group)) {
+                    // Remain other rows of the same type untitled (usually the such rows share the same titles)
+                    group.setTitle(null);
+
+                    if (adapter.size() < minAdapterSize && group.getSize() < minAdapterSize) {
+                        int missingCount = minAdapterSize - adapter.size();
+                        if (group.getSize() > missingCount) {
+                            // Split the group to match 'minAdapterSize'
+                            VideoGroup missingGroup = VideoGroup.from(group.getVideos().subList(0, missingCount));
+                            missingGroup.setId(missingGroup.hashCode());
+                            group.removeAllBefore(missingCount);
+                            freezer.freeze(true);
+                            adapter.add(missingGroup);
+                            freezer.freeze(false);
+                        } else {
+                            existingAdapter = adapter; // continue inside a caller
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+
+        return existingAdapter;
+    }
+
+    private static boolean canMergeWithGroup(VideoGroupObjectAdapter adapter, VideoGroup group) {
+        if (adapter.isEmpty())
+            return false;
+
+        VideoGroup lastGroup = adapter.getAll().get(adapter.size() - 1).getGroup();
+        boolean matchedRowFound = lastGroup != null
+                && lastGroup.getMediaGroup() != null
+                && lastGroup.getMediaGroup().getNextPageKey() == null
+                && group.getMediaGroup() != null
+                && group.getMediaGroup().getNextPageKey() == null
+                && lastGroup.isShorts() == group.isShorts()
+                && (Helpers.equals(lastGroup.getTitle(), group.getTitle())
+                    || lastGroup.getTitle() == null); // we could set title to null in the previous iteration
+        return matchedRowFound;
+    }
+}
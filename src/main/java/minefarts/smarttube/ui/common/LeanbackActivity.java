@@ -15,6 +15,7 @@ import com.liskovsoft.smartyoutubetv2.common.utils.Utils;
 import minefarts.smarttube.ui.common.keyhandler.DoubleBackManager2;
 import minefarts.smarttube.ui.playback.PlaybackActivity;
 import minefarts.smarttube.ui.search.tags.SearchTagsActivity;
+import minefarts.smarttube.util.FrameMonitor;
 
 /**
  * This parent class contains common methods that run in every activity such as search.
@@ -37,6 +38,8 @@ public abstract class LeanbackActivity extends MotherActivity {
                 new PlayerKeyTranslator(this) :
                 new GlobalKeyTranslator(this);
         mGlobalKeyTranslator.apply();
+        getWindow().getDecorView().getViewTreeObserver().addOnGlobalFocusChangeListener(
+                (oldFocus, newFocus) -> FrameMonitor.instance().onEvent(FrameMonitor.EVENT_FOCUS));
     }
 
     @Override
@@ -76,6 +79,8 @@ public abstract class LeanbackActivity extends MotherActivity {
         mModeSyncManager.restore(this);
 
         getViewManager().addTop(this);
+
+        FrameMonitor.instance().setScreen(getClass().getSimpleName().replace("Activity", ""));
     }
 
     @Override
@@ -2,26 +2,39 @@ package minefarts.smarttube.ui.common;
 
 import android.app.Activity;
 import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
 import android.graphics.drawable.Drawable;
 import android.net.Uri;
 import android.os.Handler;
 import android.util.DisplayMetrics;
 import android.view.View;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.core.content.ContextCompat;
 import androidx.leanback.app.BackgroundManager;
 import com.bumptech.glide.Glide;
+import com.bumptech.glide.request.Request;
 import com.bumptech.glide.request.RequestOptions;
-import com.bumptech.glide.request.target.SimpleTarget;
+import com.bumptech.glide.request.target.CustomTarget;
 import com.bumptech.glide.request.transition.Transition;
 import com.liskovsoft.sharedutils.helpers.Helpers;
 import com.liskovsoft.smartyoutubetv2.common.app.models.data.Video;
 import minefarts.smarttube.R;
+import minefarts.smarttube.util.DecodePolicy;
 import minefarts.smarttube.util.ViewUtil;
 
 public class UriBackgroundManager {
     private static final String TAG = UriBackgroundManager.class.getSimpleName();
     private static final int BACKGROUND_UPDATE_DELAY_MS = 300;
+    /**
+     * Backgrounds are dimmed. BackgroundManager scales the bitmap up to the screen size.
+     */
+    private static final int BACKGROUND_DOWNSCALE = 2;
+    /**
+     * Previous background is still drawn during the cross-fade, so buffers are used round robin
+     */
+    private static final int BACKGROUND_BUFFERS_NUM = 3;
     private Uri mBackgroundURI;
     private Drawable mDefaultBackground;
     private DisplayMetrics mMetrics;
@@ -30,6 +43,10 @@ public class UriBackgroundManager {
     private final Activity mActivity;
     private final Handler mHandler;
     private int mBackgroundColor = -1;
+    private final Bitmap[] mBuffers = new Bitmap[BACKGROUND_BUFFERS_NUM];
+    private int mBufferIndex;
+    private final Paint mBufferPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+    private BackgroundTarget mBackgroundTarget;
 
     public UriBackgroundManager(Activity activity) {
         mActivity = activity;
@@ -79,6 +96,7 @@ public class UriBackgroundManager {
 
     public void onDestroy() {
         mHandler.removeCallbacks(mBackgroundTask);
+        cancelBackgroundLoad();
         mBackgroundManager = null;
     }
 
@@ -116,29 +134,89 @@ public class UriBackgroundManager {
         }
 
         if (uri == null) {
+            cancelBackgroundLoad();
             removeBackground();
             return;
         }
 
-        int width = mMetrics.widthPixels;
-        int height = mMetrics.heightPixels;
+        if (mBackgroundTarget == null) {
+            mBackgroundTarget = new BackgroundTarget(
+                    Math.max(mMetrics.widthPixels / BACKGROUND_DOWNSCALE, 1), Math.max(mMetrics.heightPixels / BACKGROUND_DOWNSCALE, 1));
+        }
 
         RequestOptions options = ViewUtil.glideOptions()
+                .apply(DecodePolicy.options(mActivity, DecodePolicy.TYPE_BACKGROUND))
                 .centerCrop()
                 .error(mDefaultBackground);
 
+        // Same target: the superseded load is cancelled
         Glide.with(mActivity)
                 .asBitmap()
                 .load(uri)
                 .apply(options)
-                .into(new SimpleTarget<Bitmap>(width, height) {
-                    @Override
-                    public void onResourceReady(
-                            @NonNull Bitmap resource,
-                            Transition<? super Bitmap> transition) {
-                        mBackgroundManager.setBitmap(resource);
-                    }
-                });
+                .addListener(DecodePolicy.track(DecodePolicy.TYPE_BACKGROUND))
+                .into(mBackgroundTarget);
+    }
+
+    private void cancelBackgroundLoad() {
+        if (mBackgroundTarget != null && !mActivity.isDestroyed()) {
+            Glide.with(mActivity).clear(mBackgroundTarget);
+        }
+    }
+
+    /**
+     * Copies decoded image into the pooled buffer and hands decoded one back to Glide pool.<br/>
+     * So the background change doesn't allocate new bitmaps.
+     */
+    private void applyBackground(Bitmap resource) {
+        if (mBackgroundManager == null) {
+            return;
+        }
+
+        Bitmap buffer = mBuffers[mBufferIndex];
+
+        if (buffer == null || buffer.getWidth() != resource.getWidth() || buffer.getHeight() != resource.getHeight()) {
+            buffer = Bitmap.createBitmap(resource.getWidth(), resource.getHeight(), Bitmap.Config.RGB_565);
+            mBuffers[mBufferIndex] = buffer;
+        }
+
+        new Canvas(buffer).drawBitmap(resource, 0, 0, mBufferPaint);
+        mBufferIndex = (mBufferIndex + 1) % BACKGROUND_BUFFERS_NUM;
+
+        // BackgroundManager cross-fades from the previous buffer
+        mBackgroundManager.setBitmap(buffer);
+    }
+
+    private class BackgroundTarget extends CustomTarget<Bitmap> {
+        BackgroundTarget(int width, int height) {
+            super(width, height);
+        }
+
+        @Override
+        public void onResourceReady(@NonNull Bitmap resource, @Nullable Transition<? super Bitmap> transition) {
+            applyBackground(resource);
+
+            // The copy is drawn, decoded bitmap could be reused by the next load.
+            // NOTE: loads can't be cleared inside the target callbacks
+            Request request = getRequest();
+            mHandler.post(() -> {
+                if (request != null && request == getRequest()) {
+                    cancelBackgroundLoad();
+                }
+            });
+        }
+
+        @Override
+        public void onLoadFailed(@Nullable Drawable errorDrawable) {
+            if (mBackgroundManager != null && errorDrawable != null) {
+                mBackgroundManager.setDrawable(errorDrawable);
+            }
+        }
+
+        @Override
+        public void onLoadCleared(@Nullable Drawable placeholder) {
+            // NOP. Background is drawn from the own buffer.
+        }
     }
 
     public void showBackgroundColor(int colorResId) {
@@ -19,6 +19,7 @@ import com.liskovsoft.smartyoutubetv2.common.prefs.MainUIData;
 import minefarts.smarttube.R;
 import com.liskovsoft.smartyoutubetv2.common.misc.MotherActivity;
 import minefarts.smarttube.ui.playback.PlaybackActivity;
+import minefarts.smarttube.util.FrameMonitor;
 
 public class AppDialogActivity extends MotherActivity {
     private static final String TAG = AppDialogActivity.class.getSimpleName();
@@ -76,6 +77,8 @@ public class AppDialogActivity extends MotherActivity {
     protected void onResume() {
         mIsBackPressed = false;
         super.onResume();
+
+        FrameMonitor.instance().setScreen("Dialog");
     }
     
     private boolean handleNavigation(KeyEvent event) {
@@ -8,10 +8,10 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 import androidx.annotation.Nullable;
 import androidx.preference.DialogPreference;
-import com.bumptech.glide.Glide;
 import com.liskovsoft.smartyoutubetv2.common.app.models.playback.ui.ChatReceiver;
 import minefarts.smarttube.R;
 import minefarts.smarttube.ui.mod.leanback.preference.LeanbackPreferenceDialogFragment;
+import minefarts.smarttube.ui.widgets.chat.ChatAvatarCache;
 import minefarts.smarttube.ui.widgets.chat.ChatItemMessage;
 import minefarts.smarttube.util.ViewUtil;
 import com.stfalcon.chatkit.messages.MessagesList;
@@ -59,11 +59,7 @@ public class ChatPreferenceDialogFragment extends LeanbackPreferenceDialogFragme
 
         MessagesList messagesList = (MessagesList) view.findViewById(R.id.messagesList);
         MessagesListAdapter<ChatItemMessage> adapter = new MessagesListAdapter<>(SENDER_ID, (imageView, url, payload) ->
-                Glide.with(view.getContext())
-                    .load(url)
-                    .apply(ViewUtil.glideOptions())
-                    .circleCrop() // resize image
-                    .into(imageView));
+                ChatAvatarCache.instance(view.getContext()).load(imageView, url));
         messagesList.setAdapter(adapter);
 
         if (mChatReceiver != null) {
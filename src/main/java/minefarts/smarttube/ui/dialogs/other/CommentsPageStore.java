@@ -0,0 +1,261 @@
+package minefarts.smarttube.ui.dialogs.other;
+
+import android.content.Context;
+import com.liskovsoft.mediaserviceinterfaces.data.CommentItem;
+import com.liskovsoft.sharedutils.helpers.Helpers;
+import minefarts.smarttube.ui.widgets.chat.ChatItemMessage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keeps every loaded comments page, but only a bounded window of them is materialized inside the list adapter.<br/>
+ * Pages are stored in arrival order. The adapter holds pages {@link #getWindowStart()}..{@link #getWindowEnd()}.<br/>
+ * Pages outside the window keep only the comment items. Messages are created again when the window reaches them.
+ */
+class CommentsPageStore {
+    /**
+     * Pages materialized on each side of the focused page when the dialog is reopened
+     */
+    private static final int RESTORE_RADIUS = 1;
+    /**
+     * Max pages inside the adapter. Pages on the far side are dropped when the window grows.
+     */
+    private static final int MAX_WINDOW_PAGES = 5;
+    private final List<Page> mPages = new ArrayList<>();
+    private int mWindowStart;
+    private int mWindowEnd = -1;
+
+    private static final class Page {
+        private final List<CommentItem> mItems;
+        private List<ChatItemMessage> mMessages;
+
+        private Page(List<CommentItem> items) {
+            mItems = items;
+        }
+    }
+
+    public int getPageCount() {
+        return mPages.size();
+    }
+
+    public int getWindowStart() {
+        return mWindowStart;
+    }
+
+    public int getWindowEnd() {
+        return mWindowEnd;
+    }
+
+    public boolean isWindowEmpty() {
+        return mWindowEnd < mWindowStart;
+    }
+
+    /**
+     * Window touches the last loaded page (new pages could be appended to the adapter directly)
+     */
+    public boolean isWindowAtTail() {
+        return mWindowEnd == mPages.size() - 1;
+    }
+
+    public boolean hasPagesBefore() {
+        return !isWindowEmpty() && mWindowStart > 0;
+    }
+
+    public boolean hasPagesAfter() {
+        return mWindowEnd < mPages.size() - 1;
+    }
+
+    /**
+     * Stores the page. Expands the window when the window is at the tail.
+     * @return messages that should be materialized inside the adapter or null
+     */
+    public List<ChatItemMessage> appendPage(Context context, List<CommentItem> items) {
+        boolean atTail = isWindowAtTail();
+        mPages.add(new Page(new ArrayList<>(items)));
+
+        if (!atTail) {
+            return null;
+        }
+
+        if (isWindowEmpty()) {
+            mWindowStart = mPages.size() - 1;
+        }
+
+        mWindowEnd = mPages.size() - 1;
+        return materialize(context, mWindowEnd);
+    }
+
+    /**
+     * Adds one more page at the start of the window
+     */
+    public List<ChatItemMessage> expandBefore(Context context) {
+        if (!hasPagesBefore()) {
+            return null;
+        }
+
+        mWindowStart--;
+        return materialize(context, mWindowStart);
+    }
+
+    /**
+     * Adds one more page at the end of the window
+     */
+    public List<ChatItemMessage> expandAfter(Context context) {
+        if (!hasPagesAfter()) {
+            return null;
+        }
+
+        if (isWindowEmpty()) {
+            mWindowStart = mWindowEnd + 1;
+        }
+
+        mWindowEnd++;
+        return materialize(context, mWindowEnd);
+    }
+
+    /**
+     * Drops the first window page if the window is too big. Call after {@link #expandAfter} or {@link #appendPage}.
+     * @return messages that should be removed from the adapter or null
+     */
+    public List<ChatItemMessage> trimStart() {
+        if (mWindowEnd - mWindowStart + 1 <= MAX_WINDOW_PAGES) {
+            return null;
+        }
+
+        return release(mWindowStart++);
+    }
+
+    /**
+     * Drops the last window page if the window is too big. Call after {@link #expandBefore}.
+     * @return messages that should be removed from the adapter or null
+     */
+    public List<ChatItemMessage> trimEnd() {
+        if (mWindowEnd - mWindowStart + 1 <= MAX_WINDOW_PAGES) {
+            return null;
+        }
+
+        return release(mWindowEnd--);
+    }
+
+    /**
+     * Positions the window around the page with the focused message.<br/>
+     * Returns materialized messages in arrival order.
+     */
+    public List<ChatItemMessage> restoreWindow(Context context, ChatItemMessage focusedMessage) {
+        int focusedPage = findPage(focusedMessage);
+
+        for (int i = 0; i < mPages.size(); i++) {
+            mPages.get(i).mMessages = null;
+        }
+
+        if (mPages.isEmpty()) {
+            mWindowStart = 0;
+            mWindowEnd = -1;
+            return Collections.emptyList();
+        }
+
+        if (focusedPage == -1) {
+            focusedPage = 0;
+        }
+
+        mWindowStart = Math.max(0, focusedPage - RESTORE_RADIUS);
+        mWindowEnd = Math.min(mPages.size() - 1, focusedPage + RESTORE_RADIUS);
+
+        List<ChatItemMessage> result = new ArrayList<>();
+
+        for (int i = mWindowStart; i <= mWindowEnd; i++) {
+            result.addAll(materialize(context, i));
+        }
+
+        return result;
+    }
+
+    /**
+     * Replaces the stored item and message with the same id (e.g. like state changed)
+     */
+    public void update(ChatItemMessage message) {
+        if (message == null) {
+            return;
+        }
+
+        for (Page page : mPages) {
+            if (message.getCommentItem() != null) {
+                replaceItem(page.mItems, message.getCommentItem());
+            }
+
+            if (page.mMessages != null) {
+                for (int i = 0; i < page.mMessages.size(); i++) {
+                    if (Helpers.equals(page.mMessages.get(i).getId(), message.getId())) {
+                        page.mMessages.set(i, message);
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private List<ChatItemMessage> materialize(Context context, int index) {
+        Page page = mPages.get(index);
+
+        if (page.mMessages == null) {
+            page.mMessages = new ArrayList<>();
+
+            for (CommentItem commentItem : page.mItems) {
+                if (ChatItemMessage.shouldSplit(commentItem)) {
+                    page.mMessages.addAll(ChatItemMessage.fromSplit(context, commentItem));
+                } else {
+                    page.mMessages.add(ChatItemMessage.from(context, commentItem));
+                }
+            }
+        }
+
+        return Collections.unmodifiableList(page.mMessages);
+    }
+
+    private List<ChatItemMessage> release(int index) {
+        Page page = mPages.get(index);
+        List<ChatItemMessage> result = page.mMessages;
+        page.mMessages = null;
+
+        return result;
+    }
+
+    private static void replaceItem(List<CommentItem> items, CommentItem commentItem) {
+        for (int i = 0; i < items.size(); i++) {
+            if (Helpers.equals(items.get(i).getId(), commentItem.getId())) {
+                items.set(i, commentItem);
+                return;
+            }
+        }
+    }
+
+    private int findPage(ChatItemMessage message) {
+        if (message == null) {
+            return -1;
+        }
+
+        String itemId = message.getCommentItem() != null ? message.getCommentItem().getId() : null;
+
+        for (int i = 0; i < mPages.size(); i++) {
+            Page page = mPages.get(i);
+
+            if (page.mMessages != null) {
+                for (ChatItemMessage item : page.mMessages) {
+                    if (Helpers.equals(item.getId(), message.getId())) {
+                        return i;
+                    }
+                }
+            }
+
+            for (CommentItem item : page.mItems) {
+                if (Helpers.equals(item.getId(), itemId)) {
+                    return i;
+                }
+            }
+        }
+
+        return -1;
+    }
+}
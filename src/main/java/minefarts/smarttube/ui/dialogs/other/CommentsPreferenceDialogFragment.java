@@ -8,7 +8,8 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 import androidx.annotation.Nullable;
 import androidx.preference.DialogPreference;
-import com.bumptech.glide.Glide;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 import com.liskovsoft.mediaserviceinterfaces.data.CommentGroup;
 import com.liskovsoft.mediaserviceinterfaces.data.CommentItem;
 import com.liskovsoft.sharedutils.helpers.Helpers;
@@ -18,31 +19,39 @@ import com.liskovsoft.smartyoutubetv2.common.app.models.playback.ui.CommentsRece
 import com.liskovsoft.smartyoutubetv2.common.prefs.PlayerTweaksData;
 import minefarts.smarttube.R;
 import minefarts.smarttube.ui.mod.leanback.preference.LeanbackPreferenceDialogFragment;
+import minefarts.smarttube.ui.widgets.chat.ChatAvatarCache;
 import minefarts.smarttube.ui.widgets.chat.ChatItemMessage;
 import minefarts.smarttube.util.ViewUtil;
 import com.stfalcon.chatkit.commons.models.IMessage;
 import com.stfalcon.chatkit.messages.MessagesList;
 import com.stfalcon.chatkit.messages.MessagesListAdapter;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class CommentsPreferenceDialogFragment extends LeanbackPreferenceDialogFragment {
     private static final String SENDER_ID = CommentsPreferenceDialogFragment.class.getSimpleName();
+    /**
+     * Distance (in items) to the list edge that triggers next page materialization or loading
+     */
+    private static final int PREFETCH_DISTANCE = 5;
     private boolean mIsTransparent;
     private CommentsReceiver mCommentsReceiver;
     private CharSequence mDialogTitle;
     private CommentGroup mCurrentGroup;
-    private List<ChatItemMessage> mBackupMessages;
+    private CommentsPageStore mPageStore;
     private ChatItemMessage mFocusedMessage;
+    private boolean mIsLoading;
 
     private static class CommentsBackup implements Backup {
-        public CommentsBackup(List<ChatItemMessage> backupMessages, ChatItemMessage focusedMessage, CommentGroup currentGroup) {
-            this.backupMessages = backupMessages;
+        public CommentsBackup(CommentsPageStore pageStore, ChatItemMessage focusedMessage, CommentGroup currentGroup) {
+            this.pageStore = pageStore;
             this.focusedMessage = focusedMessage;
             this.currentGroup = currentGroup;
         }
 
-        public final List<ChatItemMessage> backupMessages;
+        public final CommentsPageStore pageStore;
         public final ChatItemMessage focusedMessage;
         public final CommentGroup currentGroup;
     }
@@ -87,12 +96,7 @@ public class CommentsPreferenceDialogFragment extends LeanbackPreferenceDialogFr
 
         MessagesList messagesList = (MessagesList) view.findViewById(R.id.messagesList);
         MessagesListAdapter<ChatItemMessage> adapter = new MessagesListAdapter<>(SENDER_ID, (imageView, url, payload) ->
-                Glide.with(view.getContext())
-                    .load(url)
-                    .apply(ViewUtil.glideOptions())
-                    .circleCrop() // resize image
-                    .into(imageView));
-        adapter.setLoadMoreListener((page, totalItemsCount) -> mCommentsReceiver.onLoadMore(mCurrentGroup));
+                ChatAvatarCache.instance(view.getContext()).load(imageView, url));
         adapter.setOnMessageViewClickListener((v, message) -> mCommentsReceiver.onCommentClicked(message.getCommentItem()));
         adapter.setOnMessageViewLongClickListener((v, message) -> mCommentsReceiver.onCommentLongClicked(message.getCommentItem()));
         adapter.setOnMessageViewFocusListener((view1, message) -> mFocusedMessage = message);
@@ -100,25 +104,27 @@ public class CommentsPreferenceDialogFragment extends LeanbackPreferenceDialogFr
         messagesList.requestFocus(); // hold focus even when there's no messages
         adapter.enableStackFromEnd(true);
         adapter.setLoadingMessage(mCommentsReceiver.getLoadingMessage());
+        messagesList.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+                // Adapter can't be modified inside the scroll callback (could be a layout pass)
+                recyclerView.post(() -> checkScrollProximity(messagesList, adapter));
+            }
+        });
 
         mCommentsReceiver.setCallback(new Callback() {
             @Override
             public void onCommentGroup(CommentGroup commentGroup) {
+                mIsLoading = false;
+
                 if (commentGroup == null || commentGroup.getComments() == null) {
                     adapter.setLoadingMessage(mCommentsReceiver.getErrorMessage());
                     return;
                 }
 
-                for (CommentItem commentItem : commentGroup.getComments()) {
-                    if (ChatItemMessage.shouldSplit(commentItem)) {
-                        List<ChatItemMessage> split = ChatItemMessage.fromSplit(view.getContext(), commentItem);
-                        for (ChatItemMessage splitItem : split) {
-                            appendMessage(adapter, splitItem);
-                        }
-                    } else {
-                        appendMessage(adapter, ChatItemMessage.from(view.getContext(), commentItem));
-                    }
-                }
+                appendPage(adapter, mPageStore.appendPage(view.getContext(), commentGroup.getComments()));
+                removePage(adapter, mPageStore.trimStart());
+
                 if (adapter.getMessagesCount() == 0) { // No comments under the video
                     adapter.setLoadingMessage(mCommentsReceiver.getErrorMessage());
                 }
@@ -128,23 +134,19 @@ public class CommentsPreferenceDialogFragment extends LeanbackPreferenceDialogFr
                 mCurrentGroup = commentGroup;
 
                 // Fix small replies list that can be continued (Show more replies link).
-                // On the such list 'onLoadMore' isn't called.
-                if (adapter.getItemCount() <= 10 && mCurrentGroup.getNextCommentsKey() != null) {
-                    mCommentsReceiver.onLoadMore(mCurrentGroup);
-                }
+                // The list may not be scrollable at all. Check the edges once the layout is done.
+                messagesList.post(() -> checkScrollProximity(messagesList, adapter));
             }
 
             @Override
             public void onBackup(Backup backup) {
-                mBackupMessages = ((CommentsBackup) backup).backupMessages;
+                mPageStore = ((CommentsBackup) backup).pageStore;
                 mFocusedMessage = ((CommentsBackup) backup).focusedMessage;
                 mCurrentGroup = ((CommentsBackup) backup).currentGroup;
-                adapter.addToEnd(mBackupMessages, false);
-                adapter.setFocusedMessage(mFocusedMessage);
+                restoreWindow(messagesList, adapter);
                 if (adapter.getMessagesCount() == 0) { // No comments under the video
                     adapter.setLoadingMessage(mCommentsReceiver.getErrorMessage());
                 }
-                adapter.scrollToPosition(adapter.getMessagePosition(mFocusedMessage));
             }
 
             @Override
@@ -153,11 +155,11 @@ public class CommentsPreferenceDialogFragment extends LeanbackPreferenceDialogFr
             }
         });
 
-        if (mBackupMessages == null) {
+        if (mPageStore == null) {
+            mPageStore = new CommentsPageStore();
             mCommentsReceiver.onStart();
         } else {
-            adapter.addToEnd(mBackupMessages, false);
-            adapter.setFocusedMessage(mFocusedMessage);
+            restoreWindow(messagesList, adapter);
         }
 
         if (mIsTransparent) {
@@ -174,6 +176,85 @@ public class CommentsPreferenceDialogFragment extends LeanbackPreferenceDialogFr
         return view;
     }
 
+    /**
+     * Materializes only the pages around the focused message
+     */
+    private void restoreWindow(MessagesList messagesList, MessagesListAdapter<ChatItemMessage> adapter) {
+        prependPage(adapter, mPageStore.restoreWindow(messagesList.getContext(), mFocusedMessage));
+        adapter.setFocusedMessage(mFocusedMessage);
+        adapter.scrollToPosition(adapter.getMessagePosition(mFocusedMessage));
+        messagesList.post(() -> checkScrollProximity(messagesList, adapter));
+    }
+
+    /**
+     * Adapter position 0 holds the newest loaded message. Expand the window in the direction of the nearest edge.
+     */
+    private void checkScrollProximity(MessagesList messagesList, MessagesListAdapter<ChatItemMessage> adapter) {
+        if (mPageStore == null || !(messagesList.getLayoutManager() instanceof LinearLayoutManager)) {
+            return;
+        }
+
+        LinearLayoutManager layoutManager = (LinearLayoutManager) messagesList.getLayoutManager();
+        int firstPosition = layoutManager.findFirstVisibleItemPosition();
+        int lastPosition = layoutManager.findLastVisibleItemPosition();
+
+        if (firstPosition == RecyclerView.NO_POSITION) {
+            return;
+        }
+
+        if (lastPosition >= adapter.getItemCount() - 1 - PREFETCH_DISTANCE && mPageStore.hasPagesBefore()) {
+            prependPage(adapter, mPageStore.expandBefore(messagesList.getContext()));
+            removePage(adapter, mPageStore.trimEnd());
+        }
+
+        if (firstPosition <= PREFETCH_DISTANCE) {
+            if (mPageStore.hasPagesAfter()) {
+                appendPage(adapter, mPageStore.expandAfter(messagesList.getContext()));
+                removePage(adapter, mPageStore.trimStart());
+            } else if (!mIsLoading && mCurrentGroup != null && mCurrentGroup.getNextCommentsKey() != null) {
+                mIsLoading = true;
+                mCommentsReceiver.onLoadMore(mCurrentGroup);
+            }
+        }
+    }
+
+    /**
+     * Newer messages (page in arrival order)
+     */
+    private void appendPage(MessagesListAdapter<ChatItemMessage> adapter, List<ChatItemMessage> page) {
+        if (page == null) {
+            return;
+        }
+
+        for (ChatItemMessage message : page) {
+            appendMessage(adapter, message);
+        }
+    }
+
+    /**
+     * Older messages (page in arrival order)
+     */
+    private void prependPage(MessagesListAdapter<ChatItemMessage> adapter, List<ChatItemMessage> page) {
+        if (page == null || page.isEmpty()) {
+            return;
+        }
+
+        List<ChatItemMessage> reversed = new ArrayList<>(page);
+        Collections.reverse(reversed);
+        adapter.addToEnd(reversed, false);
+    }
+
+    /**
+     * Page that left the window (far from the focused message)
+     */
+    private void removePage(MessagesListAdapter<ChatItemMessage> adapter, List<ChatItemMessage> page) {
+        if (page == null || page.isEmpty()) {
+            return;
+        }
+
+        adapter.delete(page);
+    }
+
     private void appendMessage(MessagesListAdapter<ChatItemMessage> adapter, ChatItemMessage message) {
         adapter.addToStart(message, false);
 
@@ -185,6 +266,7 @@ public class CommentsPreferenceDialogFragment extends LeanbackPreferenceDialogFr
 
     private void syncMessage(MessagesListAdapter<ChatItemMessage> adapter, ChatItemMessage message) {
         adapter.update(message);
+        mPageStore.update(message);
 
         if ((mFocusedMessage == null || Helpers.equals(mFocusedMessage.getId(), message.getId())) && IMessage.checkMessage(message)) {
             mFocusedMessage = message;
@@ -196,25 +278,11 @@ public class CommentsPreferenceDialogFragment extends LeanbackPreferenceDialogFr
         mIsTransparent = enable;
     }
 
-    @Override
-    public void onDestroyView() {
-        super.onDestroyView();
-        backupMessages();
-    }
-
     @Override
     public void onDestroy() {
         super.onDestroy();
         if (mCommentsReceiver != null && mFocusedMessage != null) {
-            mCommentsReceiver.onFinish(new CommentsBackup(mBackupMessages, mFocusedMessage, mCurrentGroup));
+            mCommentsReceiver.onFinish(new CommentsBackup(mPageStore, mFocusedMessage, mCurrentGroup));
         }
     }
-
-    private void backupMessages() {
-        MessagesList messagesList = getView().findViewById(R.id.messagesList);
-
-        MessagesListAdapter<ChatItemMessage> adapter = (MessagesListAdapter<ChatItemMessage>) messagesList.getAdapter();
-
-        mBackupMessages = adapter != null ? adapter.getMessages() : null;
-    }
 }
@@ -46,6 +46,14 @@ import java.security.Provider;
 import java.security.Security;
 
 public class MainApplication extends MultiDexApplication {
+    private static final String TASK_CONSCRYPT = "Conscrypt";
+    private static final String TASK_EXCEPTION_HANDLER = "Exception handler";
+    private static final String TASK_VIEW_MANAGER = "View manager";
+    private static final String TASK_SECTIONS = "Browse sections";
+    private static final String TASK_CONTEXT_MENU = "Context menu";
+    private static final String TASK_HIDDEN_CONTENT = "Hidden content";
+    private static final String TASK_PLAYER_BUTTONS = "Player buttons";
+    private static final String TASK_SPONSOR_BLOCK = "SponsorBlock";
     
     static {
         System.setProperty("http.keepAlive", "false");
@@ -55,6 +63,21 @@ public class MainApplication extends MultiDexApplication {
     public void onCreate() {
         super.onCreate();
 
+        // Prefs tasks depend on Conscrypt (see setupConscrypt).
+        // Background tasks touch only the player prefs. The first screen reads the rest on the main thread.
+        StartupPipeline.instance()
+                .add(TASK_CONSCRYPT, this::setupConscrypt)
+                .add(TASK_EXCEPTION_HANDLER, this::setupGlobalExceptionHandler)
+                .add(TASK_VIEW_MANAGER, this::setupViewManager, TASK_CONSCRYPT)
+                .add(TASK_SECTIONS, this::disableSections, TASK_CONSCRYPT)
+                .add(TASK_CONTEXT_MENU, this::disableContextMenuOptions, TASK_CONSCRYPT)
+                .add(TASK_HIDDEN_CONTENT, this::hideContent, TASK_CONSCRYPT)
+                .addBackground(TASK_PLAYER_BUTTONS, this::disablePlayerButtons, TASK_CONSCRYPT)
+                .addBackground(TASK_SPONSOR_BLOCK, this::disableContentBlock, TASK_CONSCRYPT)
+                .start();
+    }
+
+    private void setupConscrypt() {
         // ByeByeDPI fix
         // https://android-review.googlesource.com/c/platform/external/conscrypt/+/89408/
         // NOTE: Android 10+ (API 29+) uses system Conscrypt TLS; custom Security providers are unnecessary
@@ -79,15 +102,6 @@ public class MainApplication extends MultiDexApplication {
                 // UnsatisfiedLinkError
             }
         }
-
-        setupGlobalExceptionHandler();
-        setupViewManager();
-        disableSections();
-        disablePlayerButtons();
-        disableContextMenuOptions();
-        disableContentBlock();
-        hideContent();
-        
     }
 
     private void setupViewManager() {
@@ -217,11 +231,20 @@ public class MainApplication extends MultiDexApplication {
         
         PlayerTweaksData PTD = PlayerTweaksData.instance(this);
 
-        PTD.setPlayerButtonDisabled(PlayerTweaksData.PLAYER_BUTTON_VIDEO_STATS);
-        PTD.setPlayerButtonDisabled(PlayerTweaksData.PLAYER_BUTTON_SCREEN_DIMMING);
-        PTD.setPlayerButtonDisabled(PlayerTweaksData.PLAYER_BUTTON_SEARCH);
-        PTD.setPlayerButtonDisabled(PlayerTweaksData.PLAYER_BUTTON_PIP);
-        PTD.setPlayerButtonDisabled(PlayerTweaksData.PLAYER_BUTTON_HIGH_QUALITY);
+        int[] buttons = {
+            PlayerTweaksData.PLAYER_BUTTON_VIDEO_STATS,
+            PlayerTweaksData.PLAYER_BUTTON_SCREEN_DIMMING,
+            PlayerTweaksData.PLAYER_BUTTON_SEARCH,
+            PlayerTweaksData.PLAYER_BUTTON_PIP,
+            PlayerTweaksData.PLAYER_BUTTON_HIGH_QUALITY,
+        };
+
+        // Every setter persists the prefs. Skip the values that are already set.
+        for (int button : buttons) {
+            if (PTD.isPlayerButtonEnabled(button)) {
+                PTD.setPlayerButtonDisabled(button);
+            }
+        }
         
     }
 
@@ -229,18 +252,28 @@ public class MainApplication extends MultiDexApplication {
 
         MainUIData MUID = MainUIData.instance(this);
         
-        MUID.setMenuItemEnabled(MainUIData.MENU_ITEM_MARK_AS_WATCHED);
-        
-        MUID.setMenuItemDisabled(MainUIData.MENU_ITEM_STREAM_REMINDER);
-        MUID.setMenuItemDisabled(MainUIData.MENU_ITEM_CREATE_PLAYLIST);
-        MUID.setMenuItemDisabled(MainUIData.MENU_ITEM_RENAME_PLAYLIST);
-        MUID.setMenuItemDisabled(MainUIData.MENU_ITEM_ADD_TO_NEW_PLAYLIST);
-        MUID.setMenuItemDisabled(MainUIData.MENU_ITEM_BLOCK_CHANNEL);
-        MUID.setMenuItemDisabled(MainUIData.MENU_ITEM_REMOVE_FROM_SUBSCRIPTIONS);
-        MUID.setMenuItemDisabled(MainUIData.MENU_ITEM_PLAYLIST_ORDER);
-        MUID.setMenuItemDisabled(MainUIData.MENU_ITEM_PLAY_NEXT);
-        MUID.setMenuItemDisabled(MainUIData.MENU_ITEM_PIN_TO_SIDEBAR);
-        MUID.setMenuItemDisabled(MainUIData.MENU_ITEM_SAVE_REMOVE_PLAYLIST);
+        if (!MUID.isMenuItemEnabled(MainUIData.MENU_ITEM_MARK_AS_WATCHED)) {
+            MUID.setMenuItemEnabled(MainUIData.MENU_ITEM_MARK_AS_WATCHED);
+        }
+
+        int[] disabledItems = {
+            MainUIData.MENU_ITEM_STREAM_REMINDER,
+            MainUIData.MENU_ITEM_CREATE_PLAYLIST,
+            MainUIData.MENU_ITEM_RENAME_PLAYLIST,
+            MainUIData.MENU_ITEM_ADD_TO_NEW_PLAYLIST,
+            MainUIData.MENU_ITEM_BLOCK_CHANNEL,
+            MainUIData.MENU_ITEM_REMOVE_FROM_SUBSCRIPTIONS,
+            MainUIData.MENU_ITEM_PLAYLIST_ORDER,
+            MainUIData.MENU_ITEM_PLAY_NEXT,
+            MainUIData.MENU_ITEM_PIN_TO_SIDEBAR,
+            MainUIData.MENU_ITEM_SAVE_REMOVE_PLAYLIST,
+        };
+
+        for (int item : disabledItems) {
+            if (MUID.isMenuItemEnabled(item)) {
+                MUID.setMenuItemDisabled(item);
+            }
+        }
 
         MUID.setMenuItemIndex(0, MainUIData.MENU_ITEM_MARK_AS_WATCHED);
         MUID.setMenuItemIndex(1, MainUIData.MENU_ITEM_NOT_INTERESTED);
@@ -265,11 +298,17 @@ public class MainApplication extends MultiDexApplication {
         SponsorBlockData SBD = SponsorBlockData.instance(this);
 
         for (String segment : segments) {
-            SBD.disableColorMarker(segment);
-            SBD.setAction(segment, SponsorBlockData.ACTION_DO_NOTHING);
+            if (SBD.isColorMarkerEnabled(segment)) {
+                SBD.disableColorMarker(segment);
+            }
+            if (SBD.getAction(segment) != SponsorBlockData.ACTION_DO_NOTHING) {
+                SBD.setAction(segment, SponsorBlockData.ACTION_DO_NOTHING);
+            }
         }
 
-        SBD.setDontSkipSegmentAgainEnabled(true);
+        if (!SBD.isDontSkipSegmentAgainEnabled()) {
+            SBD.setDontSkipSegmentAgainEnabled(true);
+        }
 
     }
 
@@ -295,7 +334,9 @@ public class MainApplication extends MultiDexApplication {
         };
 
         for (int content : content_types) {
-            MSD.setContentHidden(content, true);
+            if (!MSD.isContentHidden(content)) {
+                MSD.setContentHidden(content, true);
+            }
         }
 
     }
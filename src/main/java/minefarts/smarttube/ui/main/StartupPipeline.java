@@ -0,0 +1,234 @@
+package minefarts.smarttube.ui.main;
+
+import android.os.Build.VERSION;
+import android.os.Process;
+import android.os.SystemClock;
+import android.os.Trace;
+import com.liskovsoft.sharedutils.mylogger.Log;
+import io.reactivex.Completable;
+import io.reactivex.schedulers.Schedulers;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * App startup as a list of named tasks with dependencies.<br/>
+ * Main tasks run in the declaration order inside {@link #start()}. Background tasks run in parallel on io threads
+ * as soon as their dependencies are done.<br/>
+ * Per task timings are logged as a cold start trace and marked as systrace sections.
+ */
+public final class StartupPipeline {
+    private static final String TAG = StartupPipeline.class.getSimpleName();
+    private static StartupPipeline sInstance;
+    private final Map<String, Task> mTasks = new LinkedHashMap<>();
+    private CountDownLatch mBackgroundLatch;
+    private int mPendingCount;
+    private long mStartMs;
+
+    private static final class Task {
+        private final String mName;
+        private final Runnable mAction;
+        private final String[] mDependencies;
+        private final boolean mIsBackground;
+        private boolean mIsSubmitted;
+        private boolean mIsDone;
+        private long mStartMs;
+        private long mDurationMs;
+
+        private Task(String name, Runnable action, String[] dependencies, boolean isBackground) {
+            mName = name;
+            mAction = action;
+            mDependencies = dependencies;
+            mIsBackground = isBackground;
+        }
+    }
+
+    private StartupPipeline() {
+    }
+
+    public static StartupPipeline instance() {
+        if (sInstance == null) {
+            sInstance = new StartupPipeline();
+        }
+
+        return sInstance;
+    }
+
+    /**
+     * Runs on the main thread inside {@link #start()}
+     */
+    public StartupPipeline add(String name, Runnable action, String... dependencies) {
+        return add(new Task(name, action, dependencies, false));
+    }
+
+    /**
+     * Task that isn't needed to show the first screen. Should touch only the data that isn't read on the main thread at startup.
+     */
+    public StartupPipeline addBackground(String name, Runnable action, String... dependencies) {
+        return add(new Task(name, action, dependencies, true));
+    }
+
+    public void start() {
+        if (mBackgroundLatch != null) {
+            throw new IllegalStateException("Startup pipeline already started");
+        }
+
+        int backgroundCount = 0;
+
+        for (Task task : mTasks.values()) {
+            if (task.mIsBackground) {
+                backgroundCount++;
+            }
+        }
+
+        mBackgroundLatch = new CountDownLatch(backgroundCount);
+        mPendingCount = mTasks.size();
+        mStartMs = SystemClock.elapsedRealtime();
+
+        submitReady();
+
+        for (Task task : mTasks.values()) {
+            if (!task.mIsBackground) {
+                run(task);
+                submitReady();
+            }
+        }
+    }
+
+    /**
+     * Wait for the background tasks. For the screens that read the data they write (e.g. the player opened from a link).
+     * @return false on timeout
+     */
+    public boolean await(long timeoutMs) {
+        if (mBackgroundLatch == null || mBackgroundLatch.getCount() == 0) {
+            return true;
+        }
+
+        try {
+            return mBackgroundLatch.await(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private synchronized StartupPipeline add(Task task) {
+        if (mBackgroundLatch != null) {
+            throw new IllegalStateException("Can't add task " + task.mName + " after start");
+        }
+
+        for (String dependency : task.mDependencies) {
+            Task parent = mTasks.get(dependency);
+
+            // Also rules out cycles: dependencies are always declared earlier
+            if (parent == null) {
+                throw new IllegalStateException("Task " + task.mName + " depends on undeclared task " + dependency);
+            }
+
+            // Main thread can't wait for the background
+            if (parent.mIsBackground && !task.mIsBackground) {
+                throw new IllegalStateException("Main task " + task.mName + " depends on background task " + dependency);
+            }
+        }
+
+        mTasks.put(task.mName, task);
+
+        return this;
+    }
+
+    private synchronized void submitReady() {
+        for (Task task : mTasks.values()) {
+            if (task.mIsBackground && !task.mIsSubmitted && isReady(task)) {
+                task.mIsSubmitted = true;
+                Completable.fromAction(() -> run(task))
+                        .subscribeOn(Schedulers.io())
+                        .subscribe(
+                                this::onBackgroundDone,
+                                error -> {
+                                    // Dependent tasks still run
+                                    Log.e(TAG, "Task %s error: %s", task.mName, error.getMessage());
+                                    onBackgroundDone();
+                                }
+                        );
+            }
+        }
+    }
+
+    private boolean isReady(Task task) {
+        for (String dependency : task.mDependencies) {
+            if (!mTasks.get(dependency).mIsDone) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void run(Task task) {
+        long startMs = SystemClock.elapsedRealtime();
+        beginSection(task.mName);
+
+        try {
+            task.mAction.run();
+        } finally {
+            endSection();
+
+            synchronized (this) {
+                task.mStartMs = startMs;
+                task.mDurationMs = SystemClock.elapsedRealtime() - startMs;
+                task.mIsDone = true;
+
+                if (--mPendingCount == 0) {
+                    logTrace();
+                }
+            }
+        }
+    }
+
+    private void onBackgroundDone() {
+        submitReady();
+        mBackgroundLatch.countDown();
+    }
+
+    private void logTrace() {
+        long mainEndMs = mStartMs;
+        long endMs = mStartMs;
+
+        for (Task task : mTasks.values()) {
+            long taskEndMs = task.mStartMs + task.mDurationMs;
+            endMs = Math.max(endMs, taskEndMs);
+            if (!task.mIsBackground) {
+                mainEndMs = Math.max(mainEndMs, taskEndMs);
+            }
+        }
+
+        StringBuilder result = new StringBuilder();
+        result.append(String.format(Locale.US, "Cold start: main thread %d ms, all tasks %d ms", mainEndMs - mStartMs, endMs - mStartMs));
+
+        if (VERSION.SDK_INT >= 24) {
+            result.append(String.format(Locale.US, ", since process start %d ms", endMs - Process.getStartElapsedRealtime()));
+        }
+
+        for (Task task : mTasks.values()) {
+            result.append(String.format(Locale.US, "\n%-24s %-10s +%4d ms %4d ms",
+                    task.mName, task.mIsBackground ? "background" : "main", task.mStartMs - mStartMs, task.mDurationMs));
+        }
+
+        Log.d(TAG, result);
+    }
+
+    private static void beginSection(String name) {
+        if (VERSION.SDK_INT >= 18) {
+            Trace.beginSection(name);
+        }
+    }
+
+    private static void endSection() {
+        if (VERSION.SDK_INT >= 18) {
+            Trace.endSection();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package minefarts.smarttube.ui.mod.clickable;
+
+import android.annotation.SuppressLint;
+import android.text.Spannable;
+import android.text.SpannableString;
+import android.text.TextUtils;
+import android.util.LruCache;
+import android.widget.TextView;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.liskovsoft.sharedutils.mylogger.Log;
+import minefarts.smarttube.R;
+import minefarts.smarttube.ui.mod.clickable.LinkifyCompat.LinkifyClickHandler;
+import io.reactivex.Observable;
+import io.reactivex.android.schedulers.AndroidSchedulers;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Linkify stage that never blocks the main thread.<br/>
+ * Plain text is shown immediately, links are computed in background and swapped in when ready.<br/>
+ * Results are cached per text (e.g. the same video description opened again).
+ */
+public final class AsyncLinkifier {
+    private static final String TAG = AsyncLinkifier.class.getSimpleName();
+    private static final int MAX_CACHED_TEXTS = 10;
+    private static final LruCache<String, Spannable> sCache = new LruCache<>(MAX_CACHED_TEXTS);
+
+    /**
+     * @return running action or null if the cached result was applied synchronously
+     */
+    @SuppressLint("WrongConstant")
+    @Nullable
+    public static Disposable addLinks(@NonNull TextView textView, int mask, @Nullable LinkifyClickHandler onClick) {
+        if (onClick != null) {
+            textView.setTag(R.id.linkify_click_handler, onClick);
+        }
+
+        // MOD: force enable scrolling even there's no links in text
+        LinkifyCompat.addLinkMovementMethod(textView);
+
+        CharSequence text = textView.getText();
+
+        if (TextUtils.isEmpty(text)) {
+            return null;
+        }
+
+        String key = mask + ":" + text;
+        Spannable cached = sCache.get(key);
+
+        if (cached != null) {
+            textView.setText(cached);
+            return null;
+        }
+
+        // Copy on the main thread. Source could be mutable.
+        SpannableString source = new SpannableString(text);
+
+        return Observable.fromCallable(() -> {
+                    LinkifyCompat.addLinks(source, mask);
+                    return source;
+                })
+                .subscribeOn(Schedulers.computation())
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(
+                        linked -> {
+                            sCache.put(key, linked);
+
+                            // Text may be changed while linkify was running
+                            if (TextUtils.equals(textView.getText(), text)) {
+                                textView.setText(linked);
+                            }
+                        },
+                        error -> Log.e(TAG, "Linkify error: %s", error.getMessage())
+                );
+    }
+
+    /**
+     * Do not create this static utility class.
+     */
+    private AsyncLinkifier() {}
+}
@@ -0,0 +1,681 @@
+package minefarts.smarttube.ui.mod.clickable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Single-pass replacement for the {@link PatternsCompat} regex cascade.<br/>
+ * Recognizes web urls, emails and time codes in one linear walk and produces non-overlapping links sorted by start.<br/>
+ * Pure java, so it could be measured on a plain JVM (see benchmarks module).
+ */
+public final class LinkScanner {
+    // Same values as in LinkifyCompat
+    public static final int WEB_URLS = 0x01;
+    public static final int EMAIL_ADDRESSES = 0x02;
+    public static final int TIME_CODES = 0x10;
+    public static final int ALL = WEB_URLS | EMAIL_ADDRESSES | TIME_CODES;
+    public static final int TYPE_WEB_URL = 0;
+    public static final int TYPE_EMAIL = 1;
+    public static final int TYPE_TIME_CODE = 2;
+    private static final String[] WEB_SCHEMES = {"http://", "https://", "rtsp://"};
+    private static final int MAX_LABEL_LENGTH = 63;
+    private static final int MAX_EMAIL_LOCAL_LENGTH = 64;
+    private static final int MAX_PORT_LENGTH = 5;
+    private static final int NO_TLD = -1;
+    private static final int INVALID_LABELS = -2;
+    /**
+     * Applied to a single candidate label only, so no backtracking over the whole text
+     */
+    private static final Pattern STRICT_TLD = Pattern.compile(
+            "(?:" + PatternsCompat.IANA_TOP_LEVEL_DOMAINS + "|xn\\-\\-[\\w\\-]{0,58}\\w)");
+
+    public static final class Link {
+        public final int type;
+        public final int start;
+        public final int end;
+        public final String url;
+
+        Link(int type, int start, int end, String url) {
+            this.type = type;
+            this.start = start;
+            this.end = end;
+            this.url = url;
+        }
+    }
+
+    private final CharSequence mText;
+    private final int mLength;
+    private final int mMask;
+    /**
+     * Suffixes of the failed runs will fail too. Used to keep the walk linear.
+     */
+    private int mHostFailEnd = -1;
+    private int mEmailFailEnd = -1;
+    /**
+     * Strict TLD candidates of the current host run. Built once per run, so every word start inside the run
+     * is resolved with a binary search instead of a walk over its labels.
+     */
+    private int mRunStart = -1;
+    private int mRunEnd = -1;
+    private int[] mRunDots;
+    private int mRunDotCount;
+    private int[] mTldStarts;
+    private int[] mTldEnds;
+    /**
+     * Start of the last invalid label before the candidate (-1 if none)
+     */
+    private int[] mInvalidLabelStarts;
+    private int mTldCount;
+    /**
+     * End of the rejected web url (e.g. domain part of the email)
+     */
+    private int mRejectedEnd = -1;
+
+    private LinkScanner(CharSequence text, int mask) {
+        mText = text;
+        mLength = text.length();
+        mMask = mask;
+    }
+
+    public static List<Link> scan(CharSequence text, int mask) {
+        if (text == null || (mask & ALL) == 0) {
+            return new ArrayList<>();
+        }
+
+        return new LinkScanner(text, mask).scan();
+    }
+
+    private List<Link> scan() {
+        List<Link> result = new ArrayList<>();
+        int pos = 0;
+
+        while (pos < mLength) {
+            if (!isWord(mText.charAt(pos)) || (pos > 0 && isWord(mText.charAt(pos - 1)))) {
+                pos++;
+                continue;
+            }
+
+            Link link = matchAt(pos);
+
+            if (link != null) {
+                result.add(link);
+                pos = link.end;
+            } else {
+                pos = Math.max(skipWord(pos), mRejectedEnd);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * The order is the same as the priority of the overlapping regex matches (the longest wins)
+     */
+    private Link matchAt(int start) {
+        Link link = null;
+
+        if ((mMask & WEB_URLS) != 0) {
+            link = matchUrlWithProtocol(start);
+        }
+
+        if (link == null && (mMask & EMAIL_ADDRESSES) != 0 && start >= mEmailFailEnd) {
+            link = matchEmail(start);
+        }
+
+        if (link == null && (mMask & WEB_URLS) != 0 && start >= mHostFailEnd && !isAfterProtocol(start)) {
+            link = matchUrlWithoutProtocol(start);
+        }
+
+        if (link != null && link.type == TYPE_WEB_URL && isAfterAt(start)) {
+            mRejectedEnd = link.end;
+            link = null;
+        }
+
+        if (link == null && (mMask & TIME_CODES) != 0) {
+            link = matchTimeCode(start);
+        }
+
+        return link;
+    }
+
+    private Link matchUrlWithProtocol(int start) {
+        int pos = -1;
+
+        for (String scheme : WEB_SCHEMES) {
+            if (regionMatches(start, scheme)) {
+                pos = start + scheme.length();
+                break;
+            }
+        }
+
+        if (pos == -1) {
+            return null;
+        }
+
+        int protocolEnd = pos;
+        pos = skipUserInfo(pos);
+        int hostEnd = skipRelaxedHost(pos);
+        int end = trimPortAndPath(hostEnd);
+
+        if (end == -1) {
+            end = trimToBoundary(protocolEnd, hostEnd);
+        }
+
+        if (!isBoundary(end)) {
+            return null;
+        }
+
+        return new Link(TYPE_WEB_URL, start, end, makeWebUrl(start, end));
+    }
+
+    private Link matchUrlWithoutProtocol(int start) {
+        int hostEnd = matchIpAddress(start);
+
+        if (hostEnd == -1) {
+            // Any suffix of the host run ends at the same place
+            int runEnd = start > mRunStart && start < mRunEnd ? mRunEnd : skipHostRun(start);
+            hostEnd = findStrictHostEnd(start, runEnd);
+
+            if (hostEnd < 0) {
+                if (hostEnd == NO_TLD) {
+                    mHostFailEnd = runEnd;
+                }
+                return null;
+            }
+        }
+
+        int end = trimPortAndPath(hostEnd);
+
+        if (end == -1) {
+            end = hostEnd;
+        }
+
+        if (!isBoundary(end)) {
+            return null;
+        }
+
+        return new Link(TYPE_WEB_URL, start, end, makeWebUrl(start, end));
+    }
+
+    /**
+     * Regex backtracking equivalent: the match may end inside the path or right after the port.<br/>
+     * Port is dropped when nothing after it ends on the word boundary (e.g. 'host.cc:2b').
+     * @return end or -1 if the match should end inside the host
+     */
+    private int trimPortAndPath(int hostEnd) {
+        int portEnd = skipPort(hostEnd);
+        int end = trimToBoundary(portEnd, skipPathAndQuery(portEnd));
+
+        return end > hostEnd && isBoundary(end) ? end : -1;
+    }
+
+    private Link matchEmail(int start) {
+        int pos = start;
+
+        while (pos < mLength && pos - start <= MAX_EMAIL_LOCAL_LENGTH && (isEmailChar(mText.charAt(pos)) || mText.charAt(pos) == '.')) {
+            pos++;
+        }
+
+        if (pos >= mLength || mText.charAt(pos) != '@' || mText.charAt(pos - 1) == '.') {
+            mEmailFailEnd = pos;
+            return null;
+        }
+
+        int domainStart = pos + 1;
+        int runEnd = skipHostRun(domainStart);
+        int end = findRelaxedHostEnd(domainStart, runEnd);
+
+        if (end < 0) {
+            return null;
+        }
+
+        return new Link(TYPE_EMAIL, start, end, "mailto:" + mText.subSequence(start, end));
+    }
+
+    private Link matchTimeCode(int start) {
+        int pos = skipDigits(start);
+
+        if (pos == start || pos >= mLength || mText.charAt(pos) != ':') {
+            return null;
+        }
+
+        int minutesEnd = skipDigits(pos + 1);
+
+        if (minutesEnd == pos + 1) {
+            return null;
+        }
+
+        int end = minutesEnd;
+
+        if (minutesEnd < mLength && mText.charAt(minutesEnd) == ':') {
+            int secondsEnd = skipDigits(minutesEnd + 1);
+
+            if (secondsEnd > minutesEnd + 1 && isBoundary(secondsEnd)) {
+                end = secondsEnd;
+            }
+        }
+
+        if (!isBoundary(end)) {
+            return null;
+        }
+
+        return new Link(TYPE_TIME_CODE, start, end, mText.subSequence(start, end).toString());
+    }
+
+    /**
+     * Longest host ending with the known TLD (at least two labels).<br/>
+     * Same result as {@link #findHostEnd} with the strict flag, but linear over all word starts of the run.
+     */
+    private int findStrictHostEnd(int start, int runEnd) {
+        if (runEnd != mRunEnd || start < mRunStart) {
+            prepareRun(start, runEnd);
+        }
+
+        int dotIndex = lowerBound(mRunDots, mRunDotCount, start);
+
+        if (dotIndex == mRunDotCount) { // single label isn't a host
+            return NO_TLD;
+        }
+
+        int firstTld = upperBound(mTldStarts, mTldCount, start);
+
+        if (firstTld == mTldCount) {
+            return NO_TLD;
+        }
+
+        // Invalid label starts grow with the candidates. Labels after the start should be valid.
+        int lastTld = upperBound(mInvalidLabelStarts, mTldCount, start) - 1;
+
+        if (lastTld < firstTld || !isValidLabel(start, mRunDots[dotIndex])) {
+            return INVALID_LABELS;
+        }
+
+        return mTldEnds[lastTld];
+    }
+
+    private void prepareRun(int start, int runEnd) {
+        int capacity = runEnd - start;
+
+        if (mRunDots == null || mRunDots.length < capacity) {
+            mRunDots = new int[capacity];
+            mTldStarts = new int[capacity];
+            mTldEnds = new int[capacity];
+            mInvalidLabelStarts = new int[capacity];
+        }
+
+        mRunStart = start;
+        mRunEnd = runEnd;
+        mRunDotCount = 0;
+        mTldCount = 0;
+
+        int invalidLabelStart = -1;
+        int labelStart = start;
+
+        for (int i = start; i <= runEnd; i++) {
+            if (i < runEnd && mText.charAt(i) != '.') {
+                continue;
+            }
+
+            if (i < runEnd) {
+                mRunDots[mRunDotCount++] = i;
+            }
+
+            if (labelStart > start) {
+                int tldEnd = labelStart;
+
+                while (tldEnd < i && isTldChar(mText.charAt(tldEnd))) {
+                    tldEnd++;
+                }
+
+                if (isTld(labelStart, tldEnd, true) && isBoundary(tldEnd)) {
+                    mTldStarts[mTldCount] = labelStart;
+                    mTldEnds[mTldCount] = tldEnd;
+                    mInvalidLabelStarts[mTldCount] = invalidLabelStart;
+                    mTldCount++;
+                }
+
+                if (!isValidLabel(labelStart, i)) {
+                    invalidLabelStart = labelStart;
+                }
+            }
+
+            labelStart = i + 1;
+        }
+    }
+
+    /**
+     * First index with the value >= key
+     */
+    private static int lowerBound(int[] values, int count, int key) {
+        int low = 0;
+        int high = count;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * First index with the value > key
+     */
+    private static int upperBound(int[] values, int count, int key) {
+        return lowerBound(values, count, key + 1);
+    }
+
+    /**
+     * Longest host ending with any alphabetic label (at least two labels)
+     */
+    private int findRelaxedHostEnd(int start, int runEnd) {
+        return findHostEnd(start, runEnd, false);
+    }
+
+    private int findHostEnd(int start, int runEnd, boolean strict) {
+        int labelEnd = runEnd;
+        int result = NO_TLD;
+
+        while (labelEnd > start) {
+            int labelStart = labelEnd;
+
+            while (labelStart > start && mText.charAt(labelStart - 1) != '.') {
+                labelStart--;
+            }
+
+            if (labelStart == start) { // single label isn't a host
+                break;
+            }
+
+            int tldEnd = labelStart;
+
+            while (tldEnd < labelEnd && isTldChar(mText.charAt(tldEnd))) {
+                tldEnd++;
+            }
+
+            if (isTld(labelStart, tldEnd, strict) && isBoundary(tldEnd)) {
+                if (isValidLabels(start, labelStart - 1)) {
+                    return tldEnd;
+                }
+
+                result = INVALID_LABELS;
+            }
+
+            labelEnd = labelStart - 1;
+        }
+
+        return result;
+    }
+
+    private boolean isTld(int start, int end, boolean strict) {
+        int length = end - start;
+
+        if (length < 2 || length > MAX_LABEL_LENGTH) {
+            return false;
+        }
+
+        return !strict || STRICT_TLD.matcher(mText.subSequence(start, end)).matches();
+    }
+
+    private boolean isValidLabel(int start, int end) {
+        return end > start && end - start <= MAX_LABEL_LENGTH && isLabelChar(mText.charAt(start)) && isLabelChar(mText.charAt(end - 1));
+    }
+
+    /**
+     * Labels should start and end with the label char
+     */
+    private boolean isValidLabels(int start, int end) {
+        int labelStart = start;
+
+        for (int i = start; i <= end; i++) {
+            if (i == end || mText.charAt(i) == '.') {
+                if (i == labelStart || i - labelStart > MAX_LABEL_LENGTH
+                        || !isLabelChar(mText.charAt(labelStart)) || !isLabelChar(mText.charAt(i - 1))) {
+                    return false;
+                }
+
+                labelStart = i + 1;
+            }
+        }
+
+        return true;
+    }
+
+    private int matchIpAddress(int start) {
+        int pos = start;
+
+        for (int i = 0; i < 4; i++) {
+            int numEnd = skipDigits(pos);
+            int length = numEnd - pos;
+
+            if (length == 0 || length > 3 || Integer.parseInt(mText.subSequence(pos, numEnd).toString()) > 255) {
+                return -1;
+            }
+
+            pos = numEnd;
+
+            if (i < 3) {
+                if (pos >= mLength || mText.charAt(pos) != '.') {
+                    return -1;
+                }
+                pos++;
+            }
+        }
+
+        return isBoundary(pos) ? pos : -1;
+    }
+
+    private int skipHostRun(int pos) {
+        while (pos < mLength) {
+            char c = mText.charAt(pos);
+
+            if (isLabelChar(c) || c == '-' || c == '_') {
+                pos++;
+            } else if (c == '.' && pos + 1 < mLength && isLabelChar(mText.charAt(pos + 1))) {
+                pos++;
+            } else {
+                break;
+            }
+        }
+
+        return pos;
+    }
+
+    /**
+     * Domain name without the TLD requirement (after the protocol)
+     */
+    private int skipRelaxedHost(int pos) {
+        int end = skipHostRun(pos);
+
+        return end > pos ? end : pos;
+    }
+
+    private int skipUserInfo(int pos) {
+        int end = pos;
+
+        while (end < mLength && end - pos <= MAX_EMAIL_LOCAL_LENGTH + 26 && isUserInfoChar(mText.charAt(end))) {
+            end++;
+        }
+
+        return end > pos && end < mLength && mText.charAt(end) == '@' ? end + 1 : pos;
+    }
+
+    private int skipPort(int pos) {
+        if (pos >= mLength || mText.charAt(pos) != ':') {
+            return pos;
+        }
+
+        int end = skipDigits(pos + 1);
+        int length = end - pos - 1;
+
+        return length > 0 && length <= MAX_PORT_LENGTH ? end : pos;
+    }
+
+    private int skipPathAndQuery(int pos) {
+        if (pos >= mLength || (mText.charAt(pos) != '/' && mText.charAt(pos) != '?')) {
+            return pos;
+        }
+
+        pos++;
+
+        while (pos < mLength) {
+            char c = mText.charAt(pos);
+
+            if (c == '%') {
+                if (pos + 2 < mLength && isHex(mText.charAt(pos + 1)) && isHex(mText.charAt(pos + 2))) {
+                    pos += 3;
+                    continue;
+                }
+                break;
+            }
+
+            if (!isPathChar(c)) {
+                break;
+            }
+
+            pos++;
+        }
+
+        return pos;
+    }
+
+    private int skipDigits(int pos) {
+        while (pos < mLength && isAsciiDigit(mText.charAt(pos))) {
+            pos++;
+        }
+
+        return pos;
+    }
+
+    private int skipWord(int pos) {
+        while (pos < mLength && isWord(mText.charAt(pos))) {
+            pos++;
+        }
+
+        return pos;
+    }
+
+    /**
+     * Regex backtracking equivalent: the match should end on the word boundary
+     */
+    private int trimToBoundary(int min, int end) {
+        while (end > min && !isBoundary(end)) {
+            end--;
+        }
+
+        return end;
+    }
+
+    private boolean isBoundary(int pos) {
+        if (pos <= 0 || pos >= mLength || isFinalLineBreak(pos)) {
+            return true;
+        }
+
+        return isWord(mText.charAt(pos - 1)) != isWord(mText.charAt(pos));
+    }
+
+    /**
+     * Regex '$' matches before the final line terminator too
+     */
+    private boolean isFinalLineBreak(int pos) {
+        char c = mText.charAt(pos);
+
+        if (pos == mLength - 1) {
+            return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+        }
+
+        return pos == mLength - 2 && c == '\r' && mText.charAt(pos + 1) == '\n';
+    }
+
+    private boolean isAfterProtocol(int pos) {
+        return pos >= 3 && mText.charAt(pos - 1) == '/' && mText.charAt(pos - 2) == '/' && mText.charAt(pos - 3) == ':';
+    }
+
+    /**
+     * Same as {@link android.text.util.Linkify#sUrlMatchFilter}
+     */
+    private boolean isAfterAt(int pos) {
+        return pos > 0 && mText.charAt(pos - 1) == '@';
+    }
+
+    private boolean regionMatches(int start, String prefix) {
+        if (start + prefix.length() > mLength) {
+            return false;
+        }
+
+        for (int i = 0; i < prefix.length(); i++) {
+            if (Character.toLowerCase(mText.charAt(start + i)) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private String makeWebUrl(int start, int end) {
+        String url = mText.subSequence(start, end).toString();
+
+        for (String scheme : WEB_SCHEMES) {
+            if (url.regionMatches(true, 0, scheme, 0, scheme.length())) {
+                // Fix capitalization if necessary
+                return url.startsWith(scheme) ? url : scheme + url.substring(scheme.length());
+            }
+        }
+
+        return WEB_SCHEMES[0] + url;
+    }
+
+    private static boolean isWord(char c) {
+        return c == '_' || Character.isLetterOrDigit(c);
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isHex(char c) {
+        return isAsciiDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    /**
+     * Valid UCS characters defined in RFC 3987. Excludes space characters.
+     */
+    private static boolean isUcsChar(char c) {
+        if (c == '\u00A0' || (c >= '\u2000' && c <= '\u200A') || c == '\u2028' || c == '\u2029' || c == '\u202F' || c == '\u3000') {
+            return false;
+        }
+
+        return (c >= '\u00A0' && c <= '\uD7FF') || (c >= '\uF900' && c <= '\uFDCF') || (c >= '\uFDF0' && c <= '\uFFEF')
+                || Character.isSurrogate(c);
+    }
+
+    private static boolean isLabelChar(char c) {
+        return isAsciiLetter(c) || isAsciiDigit(c) || isUcsChar(c);
+    }
+
+    private static boolean isTldChar(char c) {
+        return isAsciiLetter(c) || isUcsChar(c);
+    }
+
+    private static boolean isEmailChar(char c) {
+        return isLabelChar(c) || c == '+' || c == '-' || c == '_' || c == '%' || c == '\'';
+    }
+
+    private static boolean isUserInfoChar(char c) {
+        return isAsciiLetter(c) || isAsciiDigit(c) || "$-_.+!*'(),;?&=:%".indexOf(c) != -1;
+    }
+
+    private static boolean isPathChar(char c) {
+        return isLabelChar(c) || ";/?:@&=#~-.+!*'(),_$".indexOf(c) != -1;
+    }
+}
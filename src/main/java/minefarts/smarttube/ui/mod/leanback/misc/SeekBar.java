@@ -17,6 +17,7 @@
 package minefarts.smarttube.ui.mod.leanback.misc;
 
 import android.content.Context;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
@@ -64,11 +65,6 @@ public final class SeekBar extends View {
         public abstract boolean onAccessibilitySeekProgress(int progress);
     }
 
-    private static class SeekBarRectangle {
-        public final RectF rect = new RectF();
-        private final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
-    }
-
     private final RectF mProgressRect = new RectF();
     private final RectF mSecondProgressRect = new RectF();
     private final RectF mBackgroundRect = new RectF();
@@ -76,6 +72,8 @@ public final class SeekBar extends View {
     private final Paint mProgressPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
     private final Paint mBackgroundPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
     private final Paint mKnobPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint mSegmentPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final RectF mSegmentRect = new RectF();
 
     private int mProgress;
     private int mSecondProgress;
@@ -85,7 +83,12 @@ public final class SeekBar extends View {
     private int mActiveRadius;
     private int mBarHeight;
     private int mActiveBarHeight;
-    private final List<SeekBarRectangle> mSeekBarRectangles = new ArrayList<>();
+    private final List<SeekBarSegment> mSegments = new ArrayList<>();
+    // MOD: segments are static between the progress ticks. Draw them once into a bar sized layer.
+    private Bitmap mSegmentsLayer;
+    private Canvas mSegmentsCanvas;
+    private int mSegmentsLayerRadius;
+    private boolean mIsSegmentsLayerDirty;
 
     private AccessibilitySeekListener mAccessibilitySeekListener;
 
@@ -152,9 +155,7 @@ public final class SeekBar extends View {
         }
         canvas.drawRoundRect(mProgressRect, radius, radius, mProgressPaint);
 
-        for (SeekBarRectangle rectangle : mSeekBarRectangles) {
-            canvas.drawRoundRect(rectangle.rect, radius, radius, rectangle.paint);
-        }
+        drawSegments(canvas, radius);
 
         canvas.drawCircle(mKnobx, getHeight() / 2, radius, mKnobPaint);
     }
@@ -257,10 +258,6 @@ public final class SeekBar extends View {
 
         mKnobx = radius + (int) progressPixels;
 
-        for (SeekBarRectangle seekBarRectangle : mSeekBarRectangles) {
-            seekBarRectangle.rect.set(seekBarRectangle.rect.left, verticalPadding, seekBarRectangle.rect.right, height - verticalPadding);
-        }
-
         invalidate();
     }
 
@@ -286,51 +283,85 @@ public final class SeekBar extends View {
         return super.performAccessibilityAction(action, arguments);
     }
 
+    /**
+     * Segments are accumulated until null is passed
+     */
     public void setSegments(List<SeekBarSegment> segments) {
-        calculateSegments(segments);
+        if (segments == null) {
+            mSegments.clear();
+            releaseSegmentsLayer();
+        } else {
+            for (SeekBarSegment segment : segments) {
+                if (segment.endProgress < 0 || segment.startProgress < 0 || segment.startProgress >= 1) {
+                    continue;
+                }
+
+                mSegments.add(segment);
+            }
+            mIsSegmentsLayerDirty = true;
+        }
+
+        invalidate();
     }
 
-    private void calculateSegments(List<SeekBarSegment> segments) {
-        if (segments == null) {
-            mSeekBarRectangles.clear();
-            //invalidate();
+    private void drawSegments(Canvas canvas, int radius) {
+        if (mSegments.isEmpty()) {
             return;
         }
 
-        final int barHeight = isFocused() ? mActiveBarHeight : mBarHeight;
-
         final int width = getWidth();
-        final int height = getHeight();
-        final int verticalPadding = (height - barHeight) / 2;
-
-        //final int radius = isFocused() ? mActiveRadius : mBarHeight / 2;
-        //final int progressWidth = width - radius * 2;
+        final int barHeight = Math.round(mBackgroundRect.height());
 
-        for (SeekBarSegment segment : segments) {
-            if (segment.endProgress < 0 || segment.startProgress < 0 || segment.startProgress >= 1) {
-                continue;
-            }
+        if (width <= 0 || barHeight <= 0) {
+            return;
+        }
 
-            if (segment.endProgress > 1) {
-                segment.endProgress = 1;
-            }
+        // Size or focus (bar height) changed
+        if (mSegmentsLayer == null || mSegmentsLayer.getWidth() != width || mSegmentsLayer.getHeight() != barHeight) {
+            releaseSegmentsLayer();
+            mSegmentsLayer = Bitmap.createBitmap(width, barHeight, Bitmap.Config.ARGB_8888);
+            mSegmentsCanvas = new Canvas(mSegmentsLayer);
+            mIsSegmentsLayerDirty = true;
+        }
 
-            float rightPixels = segment.endProgress * width;
-            float leftPixels = segment.startProgress * width;
+        if (mIsSegmentsLayerDirty || mSegmentsLayerRadius != radius) {
+            mSegmentsLayer.eraseColor(Color.TRANSPARENT);
 
             // Bookmark segment (1px width) fix
-            float bookmarkWidth = mBarHeight / 2f;
-            if (rightPixels - leftPixels < bookmarkWidth) {
-                rightPixels += bookmarkWidth;
+            final float bookmarkWidth = mBarHeight / 2f;
+
+            for (SeekBarSegment segment : mSegments) {
+                float rightPixels = Math.min(segment.endProgress, 1) * width;
+                float leftPixels = segment.startProgress * width;
+
+                if (rightPixels - leftPixels < bookmarkWidth) {
+                    rightPixels += bookmarkWidth;
+                }
+
+                mSegmentRect.set(leftPixels, 0, rightPixels, barHeight);
+                mSegmentPaint.setColor(segment.color);
+                mSegmentsCanvas.drawRoundRect(mSegmentRect, radius, radius, mSegmentPaint);
             }
 
-            SeekBarRectangle rect = new SeekBarRectangle();
-            rect.rect.set(leftPixels, verticalPadding, rightPixels, height - verticalPadding);
-            rect.paint.setColor(segment.color);
-            mSeekBarRectangles.add(rect);
+            mSegmentsLayerRadius = radius;
+            mIsSegmentsLayerDirty = false;
         }
 
-        //invalidate();
+        canvas.drawBitmap(mSegmentsLayer, 0, mBackgroundRect.top, null);
+    }
+
+    private void releaseSegmentsLayer() {
+        if (mSegmentsLayer != null) {
+            mSegmentsLayer.recycle();
+            mSegmentsLayer = null;
+            mSegmentsCanvas = null;
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        releaseSegmentsLayer();
     }
 
     // Touch interceptor
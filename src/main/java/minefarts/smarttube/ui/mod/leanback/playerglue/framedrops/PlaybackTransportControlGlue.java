@@ -94,6 +94,8 @@ public class PlaybackTransportControlGlue<T extends PlayerAdapter>
 
     static final int MSG_UPDATE_PLAYBACK_STATE = 100;
     static final int UPDATE_PLAYBACK_STATE_DELAY_MS = 2000;
+    // MOD: min interval between the seeks while the user holds the key (no seek provider)
+    static final long SEEK_COALESCE_INTERVAL_MS = 150;
 
     PlaybackSeekDataProvider mSeekProvider;
     boolean mSeekEnabled;
@@ -181,6 +183,7 @@ public class PlaybackTransportControlGlue<T extends PlayerAdapter>
     @Override
     protected void onDetachedFromHost() {
         super.onDetachedFromHost();
+        mPlaybackSeekUiClient.cancelPendingSeek();
 
         if (getHost() instanceof PlaybackSeekUi) {
             ((PlaybackSeekUi) getHost()).setPlaybackSeekUiClient(null);
@@ -331,8 +334,11 @@ public class PlaybackTransportControlGlue<T extends PlayerAdapter>
         boolean mPausedBeforeSeek;
         long mPositionBeforeSeek;
         long mLastUserPosition;
+        long mPendingSeekPosition = -1;
+        long mLastSeekTimeMs;
         boolean mIsSeek;
         PlayerData mPlayerData = PlayerData.instance(getContext());
+        final Runnable mPendingSeek = this::runPendingSeek;
 
         @Override
         public PlaybackSeekDataProvider getPlaybackSeekDataProvider() {
@@ -357,12 +363,13 @@ public class PlaybackTransportControlGlue<T extends PlayerAdapter>
             if (!mPlayerData.isSeekConfirmPlayEnabled()) {
                 pause();
             }
+            onUserSeekStarted();
         }
 
         @Override
         public void onSeekPositionChanged(long pos) {
             if (mSeekProvider == null) {
-                mPlayerAdapter.seekTo(pos);
+                requestSeek(pos);
             } else {
                 mLastUserPosition = pos;
             }
@@ -374,10 +381,15 @@ public class PlaybackTransportControlGlue<T extends PlayerAdapter>
         @Override
         public void onSeekFinished(boolean cancelled) {
             if (!cancelled) {
+                runPendingSeek();
                 if (mLastUserPosition >= 0) {
                     seekTo(mLastUserPosition);
                 }
+                onUserSeekFinished();
             } else {
+                cancelPendingSeek();
+                // MOD: back to the exact position. Restore seek params before the seek.
+                onUserSeekFinished();
                 if (mPositionBeforeSeek >= 0) {
                     seekTo(mPositionBeforeSeek);
                 }
@@ -391,8 +403,52 @@ public class PlaybackTransportControlGlue<T extends PlayerAdapter>
                 onUpdateProgress();
             }
         }
+
+        /**
+         * MOD: coalesce rapid seeks. The player gets only the latest target, at most once per interval.
+         */
+        void requestSeek(long pos) {
+            mPendingSeekPosition = pos;
+            sHandler.removeCallbacks(mPendingSeek);
+
+            long delayMs = mLastSeekTimeMs + SEEK_COALESCE_INTERVAL_MS - System.currentTimeMillis();
+
+            if (delayMs <= 0) {
+                runPendingSeek();
+            } else {
+                sHandler.postDelayed(mPendingSeek, delayMs);
+            }
+        }
+
+        void runPendingSeek() {
+            sHandler.removeCallbacks(mPendingSeek);
+
+            if (mPendingSeekPosition >= 0) {
+                mLastSeekTimeMs = System.currentTimeMillis();
+                mPlayerAdapter.seekTo(mPendingSeekPosition);
+                mPendingSeekPosition = -1;
+            }
+        }
+
+        void cancelPendingSeek() {
+            sHandler.removeCallbacks(mPendingSeek);
+            mPendingSeekPosition = -1;
+        }
     };
 
+    /**
+     * MOD: user started seeking with the seek bar
+     */
+    protected void onUserSeekStarted() {
+    }
+
+    /**
+     * MOD: user finished seeking. Called after the committed seek is passed to the player.<br/>
+     * On cancel it's called before the seek back to the previous position, so that seek is exact.
+     */
+    protected void onUserSeekFinished() {
+    }
+
     /**
      * Set seek data provider used during user seeking.
      * @param seekProvider Seek data provider used during user seeking.
@@ -34,11 +34,15 @@ import androidx.preference.DialogPreference;
 import androidx.preference.ListPreference;
 import androidx.preference.MultiSelectListPreference;
 import androidx.recyclerview.widget.RecyclerView;
+import com.liskovsoft.sharedutils.rx.RxHelper;
 import com.liskovsoft.smartyoutubetv2.common.app.presenters.PlaybackPresenter;
 import com.liskovsoft.smartyoutubetv2.common.utils.Utils;
+import minefarts.smarttube.ui.mod.clickable.AsyncLinkifier;
 import minefarts.smarttube.ui.mod.clickable.LinkifyCompat;
 import minefarts.smarttube.ui.mod.clickable.LinkifyCompat.LinkifyClickHandler;
 
+import io.reactivex.disposables.Disposable;
+
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
@@ -65,6 +69,7 @@ public class LeanbackListPreferenceDialogFragment extends LeanbackPreferenceDial
     private int mDialogLayoutRes;
     protected Set<String> mInitialSelections;
     protected String mInitialSelection;
+    private Disposable mLinkifyAction;
 
     public static LeanbackListPreferenceDialogFragment newInstanceSingle(String key) {
         final Bundle args = new Bundle(1);
@@ -181,7 +186,9 @@ public class LeanbackListPreferenceDialogFragment extends LeanbackPreferenceDial
             messageView.setVisibility(View.VISIBLE);
             messageView.setText(message);
 
-            LinkifyCompat.addLinks(messageView, LinkifyCompat.WEB_URLS | LinkifyCompat.TIME_CODES, new LinkifyClickHandler() {
+            // Don't block on regex work. Links will be added as soon as they're ready.
+            RxHelper.disposeActions(mLinkifyAction);
+            mLinkifyAction = AsyncLinkifier.addLinks(messageView, LinkifyCompat.WEB_URLS | LinkifyCompat.TIME_CODES, new LinkifyClickHandler() {
                 private final Context context = messageView.getContext();
 
                 @Override
@@ -213,6 +220,12 @@ public class LeanbackListPreferenceDialogFragment extends LeanbackPreferenceDial
         return view;
     }
 
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        RxHelper.disposeActions(mLinkifyAction);
+    }
+
     public RecyclerView.Adapter<ViewHolder> onCreateAdapter() {
         //final DialogPreference preference = getPreference();
         if (mMulti) {
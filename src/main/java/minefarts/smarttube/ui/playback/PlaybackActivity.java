@@ -21,6 +21,7 @@ import com.liskovsoft.smartyoutubetv2.common.prefs.PlayerData;
 import com.liskovsoft.smartyoutubetv2.common.utils.Utils;
 import minefarts.smarttube.R;
 import minefarts.smarttube.ui.common.LeanbackActivity;
+import minefarts.smarttube.ui.main.StartupPipeline;
 
 /**
  * Loads PlaybackFragment and delegates input from a game controller.
@@ -33,12 +34,18 @@ public class PlaybackActivity extends LeanbackActivity {
     private static final float GAMEPAD_TRIGGER_INTENSITY_ON = 0.5f;
     // Off-condition slightly smaller for button debouncing.
     private static final float GAMEPAD_TRIGGER_INTENSITY_OFF = 0.45f;
+    private static final long STARTUP_TIMEOUT_MS = 1_000;
     private boolean gamepadTriggerPressed = false;
     private PlaybackFragment mPlaybackFragment;
     private boolean mIsBackPressed;
 
     @Override
     public void onCreate(Bundle savedInstanceState) {
+        // The player prefs are written in the background on the app start. Opened from a link the player may come first.
+        if (!StartupPipeline.instance().await(STARTUP_TIMEOUT_MS)) {
+            Log.e(TAG, "Startup tasks timeout");
+        }
+
         super.onCreate(savedInstanceState);
         setContentView(R.layout.fragment_playback);
         Fragment fragment =
@@ -5,7 +5,6 @@ import android.os.Build.VERSION;
 import android.os.Bundle;
 import android.support.v4.media.MediaMetadataCompat;
 import android.support.v4.media.session.MediaSessionCompat;
-import android.support.v4.media.session.PlaybackStateCompat;
 import android.text.TextUtils;
 import android.view.KeyEvent;
 import android.view.LayoutInflater;
@@ -35,7 +34,6 @@ import com.github.vkay94.dtpv.DoubleTapPlayerAdapter;
 import com.github.vkay94.dtpv.DoubleTapPlayerView;
 import com.github.vkay94.dtpv.youtube.YouTubeOverlay;
 import com.github.vkay94.dtpv.youtube.YouTubeOverlay.PerformListener;
-import com.google.android.exoplayer2.ControlDispatcher;
 import com.google.android.exoplayer2.DefaultControlDispatcher;
 import com.google.android.exoplayer2.DefaultRenderersFactory;
 import com.google.android.exoplayer2.Player;
@@ -79,13 +77,20 @@ import minefarts.smarttube.ui.mod.leanback.misc.ProgressBarManager;
 import minefarts.smarttube.ui.mod.leanback.playerglue.tweaks.PlaybackTransportRowPresenter;
 import minefarts.smarttube.ui.playback.mod.SeekModePlaybackFragment;
 import minefarts.smarttube.ui.playback.mod.surface.SurfacePlaybackFragmentGlueHost;
-import minefarts.smarttube.ui.playback.other.BackboneQueueNavigator;
+import minefarts.smarttube.ui.playback.other.FormatInfoPreResolver;
+import minefarts.smarttube.ui.playback.other.NextItemPreResolver;
+import minefarts.smarttube.ui.playback.other.PlaybackMetrics;
+import minefarts.smarttube.ui.playback.other.SeekEngine;
+import minefarts.smarttube.ui.playback.other.SuggestionsQueueNavigator;
+import minefarts.smarttube.ui.playback.other.DebugInfoExtras;
 import minefarts.smarttube.ui.playback.other.VideoPlayerGlue;
 import minefarts.smarttube.ui.playback.other.VideoPlayerGlue.OnActionClickedListener;
 import minefarts.smarttube.ui.playback.previewtimebar.StoryboardSeekDataProvider;
 import minefarts.smarttube.ui.widgets.chat.LiveChatView;
 import minefarts.smarttube.ui.widgets.time.DateTimeView;
 import minefarts.smarttube.ui.widgets.time.EndingTimeView;
+import minefarts.smarttube.util.DecodePolicy;
+import minefarts.smarttube.util.FrameMonitor;
 import com.liskovsoft.googlecommon.common.helpers.YouTubeHelper;
 
 import java.io.InputStream;
@@ -106,7 +111,7 @@ public class PlaybackFragment extends SeekModePlaybackFragment implements Playba
     private SimpleExoPlayer mPlayer;
     private PlaybackPresenter mPlaybackPresenter;
     private ArrayObjectAdapter mRowsAdapter;
-    private ListRowPresenter mRowPresenter;
+    private CustomListRowPresenter mRowPresenter;
     private VideoCardPresenter mCardPresenter;
     private ShortsCardPresenter mShortsPresenter;
     private Map<Integer, VideoGroupObjectAdapter> mVideoGroupAdapters;
@@ -114,6 +119,7 @@ public class PlaybackFragment extends SeekModePlaybackFragment implements Playba
     private ExoPlayerInitializer mPlayerInitializer;
     private SubtitleManager mSubtitleManager;
     private DebugInfoManager mDebugInfoManager;
+    private DebugInfoExtras mDebugInfoExtras;
     private UriBackgroundManager mBackgroundManager;
     private RowsSupportFragment mRowsSupportFragment;
     private boolean mIsUIAnimationsEnabled = false;
@@ -122,6 +128,11 @@ public class PlaybackFragment extends SeekModePlaybackFragment implements Playba
     private MediaSessionConnector mMediaSessionConnector;
     private DoubleTapPlayerAdapter mDoubleTapPlayerAdapter;
     private YouTubeOverlay mYouTubeOverlay;
+    private SuggestionsQueueNavigator mQueueNavigator;
+    private NextItemPreResolver mNextItemPreResolver;
+    private SeekEngine mSeekEngine;
+    private PlaybackMetrics mPlaybackMetrics;
+    private Video mNextVideo;
     private Boolean mIsControlsShownPreviously;
     private Video mPendingFocus;
     private String mSelectedVideoId;
@@ -258,6 +269,11 @@ public class PlaybackFragment extends SeekModePlaybackFragment implements Playba
     }
 
     public void onDispatchTouchEvent(MotionEvent event) {
+        if (mDoubleTapPlayerAdapter == null && mPlayer != null) {
+            // Created on the first touch. Most devices are remote driven.
+            initializeDoubleTapHandler();
+        }
+
         if (mDoubleTapPlayerAdapter != null && !isOverlayShown()) {
             boolean handled = mDoubleTapPlayerAdapter.onTouchEvent(event);
 
@@ -351,12 +367,25 @@ public class PlaybackFragment extends SeekModePlaybackFragment implements Playba
             return;
         }
 
+        if (mPlaybackMetrics != null) {
+            mPlaybackMetrics.onEngineRestart();
+        }
+
+        // UI is intact. Recreate only the engine, so the suggestions and media session don't flash.
+        if (mPlayer != null && mPlayerGlue != null && mRowsAdapter != null) {
+            recreateEngine();
+            return;
+        }
+
         releasePlayer();
         // Improve memory usage??? Player may hangs on a second after close
         //Runtime.getRuntime().gc();
         initializePlayer();
     }
 
+    /**
+     * Source level reload (format change). Player and UI are kept.
+     */
     @Override
     public void reloadPlayback() {
         if (mPlayer != null) {
@@ -428,6 +457,23 @@ public class PlaybackFragment extends SeekModePlaybackFragment implements Playba
             mMediaSession.release();
             mMediaSession = null;
         }
+        releaseEngine();
+        if (mDebugInfoExtras != null) {
+            mDebugInfoExtras.show(false);
+            mDebugInfoExtras = null;
+        }
+        if (mNextItemPreResolver != null) {
+            mNextItemPreResolver.release();
+            mNextItemPreResolver = null;
+        }
+        FormatInfoPreResolver.instance().release();
+        mQueueNavigator = null;
+    }
+
+    /**
+     * Objects that are bound to the current ExoPlayer instance
+     */
+    private void releaseEngine() {
         if (mPlayerGlue != null) {
             ((PlaybackTransportRowPresenter) mPlayerGlue.getPlaybackRowPresenter()).setOnActionLongClickedListener(null);
             ((PlaybackTransportRowPresenter) mPlayerGlue.getPlaybackRowPresenter()).setOnActionClickedListener(null);
@@ -439,6 +485,10 @@ public class PlaybackFragment extends SeekModePlaybackFragment implements Playba
             mDebugInfoManager.show(false);
             mDebugInfoManager = null;
         }
+        mSeekEngine = null;
+        if (mPlaybackMetrics != null) {
+            mPlaybackMetrics.detach();
+        }
         mPlayerInitializer.release();
         // Fix access calls when player isn't initialized
         mExoPlayerController.release();
@@ -453,9 +503,46 @@ public class PlaybackFragment extends SeekModePlaybackFragment implements Playba
         mDoubleTapPlayerAdapter = null;
     }
 
+    /**
+     * Renderer level restart: new ExoPlayer and glue.<br/>
+     * Suggestions rows, media session and video surface are kept. The glue replaces the controls row in place.
+     */
+    private void recreateEngine() {
+        Log.d(TAG, "recreateEngine: Start recreating player engine...");
+
+        long startTimeMs = System.currentTimeMillis();
+
+        mPlaybackPresenter.onEngineReleased();
+
+        setMediaSessionPlayer(null);
+        releaseEngine();
+
+        createPlayer();
+        createPlayerGlue();
+        setMediaSessionPlayer(mPlayer);
+
+        mPlaybackPresenter.onEngineInitialized();
+
+        Log.d(TAG, "Player engine recreated in %s ms", System.currentTimeMillis() - startTimeMs);
+    }
+
+    private void setMediaSessionPlayer(Player player) {
+        if (mMediaSessionConnector == null) {
+            return;
+        }
+
+        try {
+            mMediaSessionConnector.setPlayer(player);
+        } catch (NoSuchMethodError e) {
+            // Android 9, Sony (see createMediaSession)
+        }
+    }
+
     private void createPlayerObjects() {
         // NOTE: position matters!
 
+        long startTimeMs = System.currentTimeMillis();
+
         createPlayer();
 
         createPlayerGlue();
@@ -474,7 +561,9 @@ public class PlaybackFragment extends SeekModePlaybackFragment implements Playba
 
         initializePixelRatio();
 
-        initializeDoubleTapHandler();
+        initializeNextItemPreResolver();
+
+        Log.d(TAG, "Player objects created in %s ms", System.currentTimeMillis() - startTimeMs);
     }
 
     private void createPlayer() {
@@ -486,6 +575,13 @@ public class PlaybackFragment extends SeekModePlaybackFragment implements Playba
         mPlayer = mPlayerInitializer.createPlayer(getContext(), renderersFactory, trackSelector);
 
         mExoPlayerController.setPlayer(mPlayer);
+
+        mSeekEngine = new SeekEngine(mPlayer);
+
+        if (mPlaybackMetrics == null) {
+            mPlaybackMetrics = new PlaybackMetrics(getContext());
+        }
+        mPlaybackMetrics.attach(mPlayer);
     }
 
     private void createPlayerGlue() {
@@ -527,6 +623,15 @@ public class PlaybackFragment extends SeekModePlaybackFragment implements Playba
         if (mDebugInfoManager == null) {
             mDebugInfoManager = new DebugInfoManager(getView().findViewById(R.id.debug_view_group), mPlayer, mPlayerInitializer);
         }
+
+        if (mDebugInfoExtras == null) {
+            mDebugInfoExtras = new DebugInfoExtras(getView().findViewById(R.id.debug_extras_view));
+            mDebugInfoExtras.addSection(DecodePolicy::getDebugInfo);
+            if (mPlaybackMetrics != null) {
+                mDebugInfoExtras.addSection(mPlaybackMetrics::getDebugInfo);
+            }
+            mDebugInfoExtras.addSection(FrameMonitor.instance()::getDebugInfo);
+        }
     }
 
     private void initializeGlobalClock() {
@@ -534,9 +639,13 @@ public class PlaybackFragment extends SeekModePlaybackFragment implements Playba
             return;
         }
 
-        DateTimeView clock = getView().findViewById(R.id.global_time);
-        clock.showDate(false);
-        clock.setVisibility(getPlayerData().isGlobalClockEnabled() ? View.VISIBLE : View.GONE);
+        boolean enabled = getPlayerData().isGlobalClockEnabled();
+        DateTimeView clock = findOrInflate(R.id.global_time_stub, R.id.global_time, enabled);
+
+        if (clock != null) {
+            clock.showDate(false);
+            clock.setVisibility(enabled ? View.VISIBLE : View.GONE);
+        }
     }
 
     private void initializeGlobalEndingTime() {
@@ -544,8 +653,53 @@ public class PlaybackFragment extends SeekModePlaybackFragment implements Playba
             return;
         }
 
-        EndingTimeView endingTime = getView().findViewById(R.id.global_ending_time);
-        endingTime.setVisibility(getPlayerData().isGlobalEndingTimeEnabled() ? View.VISIBLE : View.GONE);
+        boolean enabled = getPlayerData().isGlobalEndingTimeEnabled();
+        EndingTimeView endingTime = findOrInflate(R.id.global_ending_time_stub, R.id.global_ending_time, enabled);
+
+        if (endingTime != null) {
+            endingTime.setVisibility(enabled ? View.VISIBLE : View.GONE);
+        }
+    }
+
+    /**
+     * Hidden widgets stay as stubs until enabled.
+     * @return inflated view or null if it's not inflated and not required
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends View> T findOrInflate(int stubId, int viewId, boolean inflate) {
+        View root = getView();
+
+        if (root == null) {
+            return null;
+        }
+
+        T view = root.findViewById(viewId);
+
+        if (view == null && inflate) {
+            ViewStub stub = root.findViewById(stubId);
+            if (stub != null) {
+                view = (T) stub.inflate();
+            }
+        }
+
+        return view;
+    }
+
+    private void initializeNextItemPreResolver() {
+        mNextItemPreResolver = new NextItemPreResolver(this);
+        mNextItemPreResolver.setNextVideo(mNextVideo);
+    }
+
+    /**
+     * Media session queue: current video, next video and the first suggestions row
+     */
+    private void updateQueue() {
+        if (mQueueNavigator == null) {
+            return;
+        }
+
+        VideoGroup suggestions = getSuggestionsByIndex(0);
+        mQueueNavigator.setQueue(getVideo(), mNextVideo, suggestions != null ? suggestions.getVideos() : null);
     }
 
     private void initializePixelRatio() {
@@ -558,12 +712,7 @@ public class PlaybackFragment extends SeekModePlaybackFragment implements Playba
         }
 
         if (mYouTubeOverlay == null) {
-            ViewStub youTubeOverlayStub = getView().findViewById(R.id.youtube_overlay_stub);
-            if (youTubeOverlayStub != null) {
-                mYouTubeOverlay = (YouTubeOverlay) youTubeOverlayStub.inflate();
-            } else {
-                mYouTubeOverlay = getView().findViewById(R.id.youtube_overlay);
-            }
+            mYouTubeOverlay = findOrInflate(R.id.youtube_overlay_stub, R.id.youtube_overlay, true);
         }
 
         mDoubleTapPlayerAdapter = new DoubleTapPlayerAdapter(getView());
@@ -644,22 +793,24 @@ public class PlaybackFragment extends SeekModePlaybackFragment implements Playba
             return metadataBuilder.build();
         });
 
-        mMediaSessionConnector.setQueueNavigator(new BackboneQueueNavigator() {
+        mQueueNavigator = new SuggestionsQueueNavigator(mMediaSession, new SuggestionsQueueNavigator.Listener() {
             @Override
-            public long getSupportedQueueNavigatorActions(Player player) {
-                return PlaybackStateCompat.ACTION_SKIP_TO_PREVIOUS | PlaybackStateCompat.ACTION_SKIP_TO_NEXT;
+            public void onPrevious() {
+                mPlaybackPresenter.onPreviousClicked();
             }
 
             @Override
-            public void onSkipToPrevious(Player player, ControlDispatcher controlDispatcher) {
-                mPlaybackPresenter.onPreviousClicked();
+            public void onNext() {
+                mPlaybackPresenter.onNextClicked();
             }
 
             @Override
-            public void onSkipToNext(Player player, ControlDispatcher controlDispatcher) {
-                mPlaybackPresenter.onNextClicked();
+            public void onQueueItem(Video video) {
+                mPlaybackPresenter.onSuggestionItemClicked(video);
             }
         });
+        mMediaSessionConnector.setQueueNavigator(mQueueNavigator);
+        updateQueue();
 
         // Fix exoplayer pause when switching AFR. The code seems buggy.
         mMediaSessionConnector.setControlDispatcher(new DefaultControlDispatcher() {
@@ -769,7 +920,21 @@ public class PlaybackFragment extends SeekModePlaybackFragment implements Playba
                 mBackgroundManager.setBackgroundFrom((Video) item);
 
                 checkScrollEnd((Video)item);
+                preResolve((Video) item);
+            } else {
+                FormatInfoPreResolver.instance().cancel();
+            }
+        }
+
+        private void preResolve(Video item) {
+            Video current = getVideo();
+
+            if (current != null && Helpers.equals(current.videoId, item.videoId)) {
+                FormatInfoPreResolver.instance().cancel();
+                return;
             }
+
+            FormatInfoPreResolver.instance().onFocused(item);
         }
 
         private void checkScrollEnd(Video item) {
@@ -827,6 +992,20 @@ public class PlaybackFragment extends SeekModePlaybackFragment implements Playba
         public boolean onKeyDown(int keyCode) {
             return mPlaybackPresenter.onKeyDown(keyCode);
         }
+
+        @Override
+        public void onSeekStarted() {
+            if (mSeekEngine != null) {
+                mSeekEngine.onUserSeekStarted();
+            }
+        }
+
+        @Override
+        public void onSeekFinished() {
+            if (mSeekEngine != null) {
+                mSeekEngine.onUserSeekFinished();
+            }
+        }
     }
 
     // Begin Ui events
@@ -835,6 +1014,10 @@ public class PlaybackFragment extends SeekModePlaybackFragment implements Playba
     public void setVideo(Video video) {
         mExoPlayerController.setVideo(video);
 
+        if (video != null) {
+            FormatInfoPreResolver.instance().onOpened(video.videoId);
+        }
+
         if (mPlayerGlue != null && video != null) {
             // Preserve player formatting
             mPlayerGlue.setTitle(video.getTitleFull() != null ? video.getTitleFull() : "...");
@@ -926,7 +1109,9 @@ public class PlaybackFragment extends SeekModePlaybackFragment implements Playba
     public void updateEndingTime() {
         if (getView() != null) {
             EndingTimeView endingTime = getView().findViewById(R.id.global_ending_time);
-            endingTime.update();
+            if (endingTime != null) {
+                endingTime.update();
+            }
         }
     }
 
@@ -942,43 +1127,57 @@ public class PlaybackFragment extends SeekModePlaybackFragment implements Playba
 
     // Begin Engine Events
 
+    private void trackOpen() {
+        if (mPlaybackMetrics != null) {
+            mPlaybackMetrics.onOpen(getVideo());
+        }
+    }
+
     @Override
     public void openSabr(MediaItemFormatInfo formatInfo) {
+        trackOpen();
         mExoPlayerController.openSabr(formatInfo);
     }
 
     @Override
     public void openDash(MediaItemFormatInfo formatInfo) {
+        trackOpen();
         mExoPlayerController.openDash(formatInfo);
     }
 
     @Override
     public void openDash(InputStream dashManifest) {
+        trackOpen();
         mExoPlayerController.openDash(dashManifest);
     }
 
     @Override
     public void openDashUrl(String dashManifestUrl) {
+        trackOpen();
         mExoPlayerController.openDashUrl(dashManifestUrl);
     }
 
     @Override
     public void openHlsUrl(String hlsPlaylistUrl) {
+        trackOpen();
         mExoPlayerController.openHlsUrl(hlsPlaylistUrl);
     }
 
     @Override
     public void openUrlList(List<String> urlList) {
+        trackOpen();
         mExoPlayerController.openUrlList(urlList);
     }
 
     @Override
     public void openMerged(MediaItemFormatInfo formatInfo, String hlsPlaylistUrl) {
+        trackOpen();
         mExoPlayerController.openMerged(formatInfo, hlsPlaylistUrl);
     }
 
     @Override
     public void openMerged(InputStream dashManifest, String hlsPlaylistUrl) {
+        trackOpen();
         mExoPlayerController.openMerged(dashManifest, hlsPlaylistUrl);
     }
 
@@ -1042,6 +1241,9 @@ public class PlaybackFragment extends SeekModePlaybackFragment implements Playba
 
     @Override
     public void setFormat(FormatItem formatItem) {
+        if (mPlaybackMetrics != null) {
+            mPlaybackMetrics.onFormatSelected();
+        }
         // Android 4.4 fix for format selection dialog (player destroyed when dialog is focused)
         mExoPlayerController.selectFormat(formatItem);
     }
@@ -1162,6 +1364,15 @@ public class PlaybackFragment extends SeekModePlaybackFragment implements Playba
 
     // End Engine Events
 
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+
+        if (mRowPresenter != null) {
+            mRowPresenter.releaseCards();
+        }
+    }
+
     @Override
     public void onDestroy() {
         super.onDestroy();
@@ -1172,6 +1383,10 @@ public class PlaybackFragment extends SeekModePlaybackFragment implements Playba
         // E.g. after closing dialogs.
         releasePlayer();
 
+        if (mPlaybackMetrics != null) {
+            mPlaybackMetrics.finishSession();
+        }
+
         if (mPlaybackPresenter.getView() == this) {
             mPlaybackPresenter.onViewDestroyed();
         }
@@ -1237,6 +1452,8 @@ public class PlaybackFragment extends SeekModePlaybackFragment implements Playba
             mPlayerGlue.setControlsVisibility(true);
         }
 
+        FrameMonitor.instance().setScreen("Player controls");
+
         if (mPlaybackPresenter != null) {
             mPlaybackPresenter.onControlsShown(true);
         }
@@ -1257,6 +1474,8 @@ public class PlaybackFragment extends SeekModePlaybackFragment implements Playba
             mPlayerGlue.setControlsVisibility(false);
         }
 
+        FrameMonitor.instance().setScreen("Player");
+
         if (mPlaybackPresenter != null) {
             mPlaybackPresenter.onControlsShown(false);
         }
@@ -1341,17 +1560,31 @@ public class PlaybackFragment extends SeekModePlaybackFragment implements Playba
 
     @Override
     public void setNextTitle(Video nextVideo) {
+        mNextVideo = nextVideo;
+
         if (mPlayerGlue != null) {
             mPlayerGlue.setNextTitle(createNextTitle(nextVideo));
         }
+
+        if (mNextItemPreResolver != null) {
+            mNextItemPreResolver.setNextVideo(nextVideo);
+        }
+
+        updateQueue();
     }
 
     @Override
     public void showDebugInfo(boolean show) {
         createDebugManager();
+        if (getContext() != null) {
+            FrameMonitor.instance().setEnabled(getContext(), show);
+        }
         if (mDebugInfoManager != null) {
             mDebugInfoManager.show(show);
         }
+        if (mDebugInfoExtras != null) {
+            mDebugInfoExtras.show(show);
+        }
     }
 
     @Override
@@ -1394,7 +1627,7 @@ public class PlaybackFragment extends SeekModePlaybackFragment implements Playba
             }
         }
 
-        VideoGroupObjectAdapter existingAdapter = GridFragmentHelper.findRelatedAdapter(mVideoGroupAdapters, group, this::freeze);
+        VideoGroupObjectAdapter existingAdapter = GridFragmentHelper.findRelatedAdapter(getContext(), mVideoGroupAdapters, group, this::freeze);
 
         if (existingAdapter == null) {
             HeaderItem rowHeader = new HeaderItem(group.getTitle());
@@ -1421,6 +1654,8 @@ public class PlaybackFragment extends SeekModePlaybackFragment implements Playba
 
             freeze(false);
         }
+
+        updateQueue();
     }
 
     @Override
@@ -13,7 +13,6 @@ import com.google.android.exoplayer2.ui.AspectRatioFrameLayout;
 import com.google.android.exoplayer2.ui.AspectRatioFrameLayout.ResizeMode;
 import com.google.android.exoplayer2.ui.SubtitleView;
 import com.liskovsoft.sharedutils.helpers.Helpers;
-import com.liskovsoft.smartyoutubetv2.common.app.models.playback.manager.PlayerEngine;
 import com.liskovsoft.smartyoutubetv2.common.prefs.PlayerData;
 import com.liskovsoft.smartyoutubetv2.common.prefs.PlayerTweaksData;
 import minefarts.smarttube.util.ViewUtil;
@@ -24,6 +23,8 @@ import minefarts.smarttube.util.ViewUtil;
  */
 public class SurfacePlaybackFragment extends PlaybackSupportFragment {
     private SurfaceWrapper mVideoSurfaceWrapper;
+    private SurfaceHolder.Callback mSurfaceHolderCallback;
+    private TextureViewWrapper mRetainedTextureWrapper;
     private AspectRatioFrameLayout mVideoSurfaceRoot;
     private SubtitleView mLeanbackSubtitles;
     private int mSubtitlesPadding;
@@ -42,8 +43,12 @@ public class SurfacePlaybackFragment extends PlaybackSupportFragment {
         mVideoSurfaceWrapper = (PlayerTweaksData.instance(getContext()).isTextureViewEnabled() ||
                 PlayerData.instance(getContext()).getRotationAngle() != 0) ?
                 new TextureViewWrapper(getContext(), root) : new SurfaceViewWrapper(getContext(), root);
+        adoptRetainedSurface();
         mVideoSurfaceRoot = root.findViewById(minefarts.smarttube.R.id.surface_root);
         mVideoSurfaceRoot.addView(mVideoSurfaceWrapper.getSurfaceView(), 0);
+        if (mSurfaceHolderCallback != null) { // view recreated while the player is alive
+            mVideoSurfaceWrapper.setSurfaceHolderCallback(mSurfaceHolderCallback);
+        }
         mVideoSurfaceRoot.setAspectRatioListener((targetAspectRatio, naturalAspectRatio, aspectRatioMismatch) -> scaleIfNeeded());
         mLeanbackSubtitles = root.findViewById(minefarts.smarttube.R.id.leanback_subtitles);
         mSubtitlesPadding = mLeanbackSubtitles.getPaddingLeft();
@@ -55,6 +60,12 @@ public class SurfacePlaybackFragment extends PlaybackSupportFragment {
      * Adds {@link SurfaceHolder.Callback} to {@link SurfaceView}.
      */
     public void setSurfaceHolderCallback(SurfaceHolder.Callback callback) {
+        mSurfaceHolderCallback = callback;
+
+        if (callback == null && mRetainedTextureWrapper != null) { // player released
+            mRetainedTextureWrapper.setSurfaceHolderCallback(null);
+        }
+
         if (mVideoSurfaceWrapper != null) {
             mVideoSurfaceWrapper.setSurfaceHolderCallback(callback);
         }
@@ -75,10 +86,25 @@ public class SurfacePlaybackFragment extends PlaybackSupportFragment {
 
     @Override
     public void onDestroyView() {
+        // Texture is destroyed after this call, when the view is detached
+        if (mVideoSurfaceWrapper instanceof TextureViewWrapper) {
+            mRetainedTextureWrapper = (TextureViewWrapper) mVideoSurfaceWrapper;
+            mRetainedTextureWrapper.retainSurface();
+        }
         mVideoSurfaceWrapper = null;
         super.onDestroyView();
     }
 
+    @Override
+    public void onDestroy() {
+        super.onDestroy();
+
+        if (mRetainedTextureWrapper != null) {
+            mRetainedTextureWrapper.release();
+            mRetainedTextureWrapper = null;
+        }
+    }
+
     /** Returns the {@link ResizeMode}. */
     protected @ResizeMode int getResize() {
         return mVideoSurfaceRoot.getResizeMode();
@@ -107,16 +133,12 @@ public class SurfacePlaybackFragment extends PlaybackSupportFragment {
             return;
         }
 
-        if (mVideoSurfaceWrapper instanceof TextureViewWrapper) {
-            mVideoSurfaceRoot.setRotation(angle);
-        } else {
-            mVideoSurfaceRoot.removeView(mVideoSurfaceWrapper.getSurfaceView());
-            mVideoSurfaceWrapper = new TextureViewWrapper(getContext(), (ViewGroup) getView());
-            mVideoSurfaceRoot.addView(mVideoSurfaceWrapper.getSurfaceView(), 0);
-            mVideoSurfaceRoot.setRotation(angle);
-
-            ((PlayerEngine) this).restartEngine();
+        if (!(mVideoSurfaceWrapper instanceof TextureViewWrapper)) {
+            switchToTextureView();
         }
+
+        mVideoSurfaceRoot.setRotation(angle);
+        scaleIfNeeded();
     }
 
     protected void setFlipEnabled(boolean enabled) {
@@ -126,16 +148,41 @@ public class SurfacePlaybackFragment extends PlaybackSupportFragment {
             return;
         }
 
-        if (mVideoSurfaceWrapper instanceof TextureViewWrapper) {
-            mVideoSurfaceRoot.setScaleX(scaleX);
-        } else {
-            mVideoSurfaceRoot.removeView(mVideoSurfaceWrapper.getSurfaceView());
-            mVideoSurfaceWrapper = new TextureViewWrapper(getContext(), (ViewGroup) getView());
-            mVideoSurfaceRoot.addView(mVideoSurfaceWrapper.getSurfaceView(), 0);
-            mVideoSurfaceRoot.setScaleX(scaleX);
+        if (!(mVideoSurfaceWrapper instanceof TextureViewWrapper)) {
+            switchToTextureView();
+        }
 
-            ((PlayerEngine) this).restartEngine();
+        mVideoSurfaceRoot.setScaleX(scaleX);
+    }
+
+    /**
+     * The decoder keeps its output when the view is recreated (e.g. PIP transitions)
+     */
+    private void adoptRetainedSurface() {
+        if (mRetainedTextureWrapper == null) {
+            return;
         }
+
+        if (mVideoSurfaceWrapper instanceof TextureViewWrapper) {
+            ((TextureViewWrapper) mVideoSurfaceWrapper).adoptSurface(mRetainedTextureWrapper);
+        }
+
+        mRetainedTextureWrapper.release(); // NOP when adopted
+        mRetainedTextureWrapper = null;
+    }
+
+    /**
+     * SurfaceView can't be transformed. Move the video output to the TextureView while the player keeps running.<br/>
+     * Removing the SurfaceView detaches its surface from the player (surfaceDestroyed).
+     * The player gets the new surface when the texture is available and resumes from the next keyframe of the buffer.
+     */
+    private void switchToTextureView() {
+        mVideoSurfaceRoot.removeView(mVideoSurfaceWrapper.getSurfaceView());
+        mVideoSurfaceWrapper.setSurfaceHolderCallback(null);
+
+        mVideoSurfaceWrapper = new TextureViewWrapper(getContext(), (ViewGroup) getView());
+        mVideoSurfaceRoot.addView(mVideoSurfaceWrapper.getSurfaceView(), 0);
+        mVideoSurfaceWrapper.setSurfaceHolderCallback(mSurfaceHolderCallback);
     }
 
     private void scaleIfNeeded() {
@@ -13,10 +13,17 @@ import android.view.View;
 import android.view.ViewGroup;
 import minefarts.smarttube.R;
 
+/**
+ * One {@link Surface} per {@link SurfaceTexture}. Same holder is passed on size changes, so the decoder output isn't reconfigured.<br/>
+ * The texture could be retained across the view recreation and adopted by the next wrapper.
+ */
 public class TextureViewWrapper implements SurfaceWrapper {
     private int mState = SURFACE_NOT_CREATED;
     private final TextureView mVideoSurface;
     private SurfaceHolder.Callback mMediaPlaybackCallback;
+    private SurfaceTexture mSurfaceTexture;
+    private TextureViewSurfaceHolder mSurfaceHolder;
+    private boolean mIsRetained;
 
     @SuppressLint("WrongConstant")
     public TextureViewWrapper(Context context, ViewGroup root) {
@@ -25,25 +32,32 @@ public class TextureViewWrapper implements SurfaceWrapper {
         mVideoSurface.setSurfaceTextureListener(new SurfaceTextureListener() {
             @Override
             public void onSurfaceTextureAvailable(SurfaceTexture surface, int width, int height) {
+                TextureViewSurfaceHolder holder = obtainHolder(surface);
+                mState = SURFACE_CREATED;
                 if (mMediaPlaybackCallback != null) {
-                    mMediaPlaybackCallback.surfaceCreated(new TextureViewSurfaceHolder(new Surface(surface)));
+                    mMediaPlaybackCallback.surfaceCreated(holder);
                 }
-                mState = SURFACE_CREATED;
             }
 
             @Override
             public void onSurfaceTextureSizeChanged(SurfaceTexture surface, int width, int height) {
                 if (mMediaPlaybackCallback != null) {
-                    mMediaPlaybackCallback.surfaceChanged(new TextureViewSurfaceHolder(new Surface(surface)), 4, width, height);
+                    mMediaPlaybackCallback.surfaceChanged(obtainHolder(surface), 4, width, height);
                 }
             }
 
             @Override
             public boolean onSurfaceTextureDestroyed(SurfaceTexture surface) {
-                if (mMediaPlaybackCallback != null) {
-                    mMediaPlaybackCallback.surfaceDestroyed(new TextureViewSurfaceHolder(new Surface(surface)));
+                if (mIsRetained) {
+                    // The player keeps the same surface. The next view will show this texture.
+                    return false;
+                }
+
+                if (mMediaPlaybackCallback != null && mSurfaceHolder != null) {
+                    mMediaPlaybackCallback.surfaceDestroyed(mSurfaceHolder);
                 }
                 mState = SURFACE_NOT_CREATED;
+                releaseSurface();
 
                 return true;
             }
@@ -62,8 +76,8 @@ public class TextureViewWrapper implements SurfaceWrapper {
         mMediaPlaybackCallback = callback;
 
         if (callback != null) {
-            if (mState == SURFACE_CREATED) {
-                mMediaPlaybackCallback.surfaceCreated(new TextureViewSurfaceHolder(new Surface(mVideoSurface.getSurfaceTexture())));
+            if (mState == SURFACE_CREATED && mSurfaceHolder != null) {
+                mMediaPlaybackCallback.surfaceCreated(mSurfaceHolder);
             }
         }
     }
@@ -72,4 +86,68 @@ public class TextureViewWrapper implements SurfaceWrapper {
     public View getSurfaceView() {
         return mVideoSurface;
     }
+
+    /**
+     * Keep the texture and its surface alive after the view is destroyed
+     */
+    public void retainSurface() {
+        mIsRetained = mSurfaceTexture != null;
+    }
+
+    /**
+     * Continue with the texture of the destroyed view
+     */
+    public void adoptSurface(TextureViewWrapper previous) {
+        if (previous == null || !previous.mIsRetained || mSurfaceTexture != null) {
+            return;
+        }
+
+        mSurfaceTexture = previous.mSurfaceTexture;
+        mSurfaceHolder = previous.mSurfaceHolder;
+        previous.mSurfaceTexture = null;
+        previous.mSurfaceHolder = null;
+        previous.mIsRetained = false;
+
+        mVideoSurface.setSurfaceTexture(mSurfaceTexture);
+        mState = SURFACE_CREATED; // onSurfaceTextureAvailable isn't called for the set texture
+    }
+
+    /**
+     * Release retained texture that nobody has adopted
+     */
+    public void release() {
+        if (mIsRetained) {
+            mIsRetained = false;
+
+            if (mMediaPlaybackCallback != null && mSurfaceHolder != null) {
+                mMediaPlaybackCallback.surfaceDestroyed(mSurfaceHolder);
+            }
+
+            SurfaceTexture surfaceTexture = mSurfaceTexture;
+            releaseSurface();
+
+            if (surfaceTexture != null) {
+                surfaceTexture.release();
+            }
+        }
+    }
+
+    private TextureViewSurfaceHolder obtainHolder(SurfaceTexture surfaceTexture) {
+        if (mSurfaceTexture != surfaceTexture || mSurfaceHolder == null) {
+            releaseSurface();
+            mSurfaceTexture = surfaceTexture;
+            mSurfaceHolder = new TextureViewSurfaceHolder(new Surface(surfaceTexture));
+        }
+
+        return mSurfaceHolder;
+    }
+
+    private void releaseSurface() {
+        if (mSurfaceHolder != null) {
+            mSurfaceHolder.getSurface().release();
+            mSurfaceHolder = null;
+        }
+
+        mSurfaceTexture = null;
+    }
 }
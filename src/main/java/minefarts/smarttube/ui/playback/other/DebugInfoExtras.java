@@ -0,0 +1,66 @@
+package minefarts.smarttube.ui.playback.other;
+
+import android.view.View;
+import android.widget.TextView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * App side part of the debug overlay shown below the player stats of DebugInfoManager.<br/>
+ * Sections are polled once per second while the overlay is shown.
+ */
+public class DebugInfoExtras {
+    private static final long UPDATE_INTERVAL_MS = 1_000;
+    private final TextView mView;
+    private final List<Section> mSections = new ArrayList<>();
+    private final Runnable mUpdate = this::update;
+
+    public interface Section {
+        CharSequence getDebugInfo();
+    }
+
+    public DebugInfoExtras(TextView view) {
+        mView = view;
+    }
+
+    public void addSection(Section section) {
+        if (!mSections.contains(section)) {
+            mSections.add(section);
+        }
+    }
+
+    public void show(boolean show) {
+        mView.removeCallbacks(mUpdate);
+        mView.setVisibility(show && !mSections.isEmpty() ? View.VISIBLE : View.GONE);
+
+        if (isShown()) {
+            update();
+        }
+    }
+
+    public boolean isShown() {
+        return mView.getVisibility() == View.VISIBLE;
+    }
+
+    private void update() {
+        StringBuilder text = new StringBuilder();
+
+        for (Section section : mSections) {
+            CharSequence info = section.getDebugInfo();
+
+            if (info == null || info.length() == 0) {
+                continue;
+            }
+
+            if (text.length() > 0) {
+                text.append('\n');
+            }
+
+            text.append(info);
+        }
+
+        mView.setText(text);
+        mView.postDelayed(mUpdate, UPDATE_INTERVAL_MS);
+    }
+}
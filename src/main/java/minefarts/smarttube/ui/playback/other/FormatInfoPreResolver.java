@@ -0,0 +1,145 @@
+package minefarts.smarttube.ui.playback.other;
+
+import android.os.Handler;
+import android.os.Looper;
+import com.liskovsoft.mediaserviceinterfaces.MediaItemService;
+import com.liskovsoft.sharedutils.helpers.Helpers;
+import com.liskovsoft.sharedutils.mylogger.Log;
+import com.liskovsoft.sharedutils.rx.RxHelper;
+import com.liskovsoft.smartyoutubetv2.common.app.models.data.Video;
+import com.liskovsoft.youtubeapi.service.YouTubeServiceManager;
+import io.reactivex.android.schedulers.AndroidSchedulers;
+import io.reactivex.disposables.Disposable;
+
+/**
+ * Speculative format info resolving for the videos that are likely to be opened next (focused suggestion, next video).<br/>
+ * Nothing is cached here. The request warms the media service, which keeps the last resolved format info.<br/>
+ * The focused item and the next video have separate requests, so focus changes don't cancel the next video.<br/>
+ * Focused items aren't resolved after the next video is requested: they would evict it from the media service.
+ */
+public final class FormatInfoPreResolver {
+    private static final String TAG = FormatInfoPreResolver.class.getSimpleName();
+    private static final long FOCUS_DELAY_MS = 500; // skip items that are only scrolled through
+    private static FormatInfoPreResolver sInstance;
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+    private final MediaItemService mMediaItemService;
+    private final Runnable mResolveFocused = this::resolveFocused;
+    private String mFocusedVideoId;
+    private String mNextVideoId;
+    private Disposable mFocusedAction;
+    private Disposable mNextAction;
+    /**
+     * Last pre-resolved video (null while the request is running)
+     */
+    private String mResolvedVideoId;
+
+    private FormatInfoPreResolver() {
+        mMediaItemService = YouTubeServiceManager.instance().getMediaItemService();
+    }
+
+    public static FormatInfoPreResolver instance() {
+        if (sInstance == null) {
+            sInstance = new FormatInfoPreResolver();
+        }
+
+        return sInstance;
+    }
+
+    /**
+     * Resolve after the focus stays on the item for a moment
+     */
+    public void onFocused(Video video) {
+        cancel();
+
+        if (video == null || video.videoId == null || video.isLive || video.isUpcoming) {
+            return;
+        }
+
+        // Next video warm-up is running or done
+        if (mNextVideoId != null) {
+            return;
+        }
+
+        mFocusedVideoId = video.videoId;
+        mHandler.postDelayed(mResolveFocused, FOCUS_DELAY_MS);
+    }
+
+    /**
+     * Resolve the next video now. Isn't cancelled by the focus changes.
+     */
+    public void resolveNext(String videoId) {
+        if (videoId == null) {
+            return;
+        }
+
+        RxHelper.disposeActions(mNextAction);
+        mNextVideoId = videoId;
+        mNextAction = resolve(videoId);
+    }
+
+    /**
+     * Video is opening. Logs whether the pre-resolve has warmed it.<br/>
+     * Focused items could be resolved again when the next video is opened.
+     */
+    public void onOpened(String videoId) {
+        if (videoId == null) {
+            return;
+        }
+
+        if (Helpers.equals(videoId, mResolvedVideoId)) {
+            Log.d(TAG, "Warm-up hit for %s", videoId);
+        } else if (isResolving(videoId)) {
+            Log.d(TAG, "Warm-up is still running for %s", videoId);
+        } else {
+            Log.d(TAG, "Warm-up miss for %s", videoId);
+        }
+
+        if (Helpers.equals(videoId, mNextVideoId)) {
+            mNextVideoId = null;
+        }
+    }
+
+    /**
+     * Focus has moved on
+     */
+    public void cancel() {
+        mHandler.removeCallbacks(mResolveFocused);
+        RxHelper.disposeActions(mFocusedAction);
+        mFocusedVideoId = null;
+    }
+
+    /**
+     * Player is closing
+     */
+    public void release() {
+        cancel();
+        RxHelper.disposeActions(mNextAction);
+        mNextVideoId = null;
+        mResolvedVideoId = null;
+    }
+
+    private Disposable resolve(String videoId) {
+        mResolvedVideoId = null;
+
+        return mMediaItemService.getFormatInfoObserve(videoId)
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(
+                        formatInfo -> {
+                            Log.d(TAG, "Pre-resolved %s", videoId);
+                            mResolvedVideoId = videoId;
+                        },
+                        error -> Log.e(TAG, "Pre-resolve error for %s: %s", videoId, error.getMessage())
+                );
+    }
+
+    private boolean isResolving(String videoId) {
+        return (Helpers.equals(videoId, mNextVideoId) && mNextAction != null && !mNextAction.isDisposed())
+                || (Helpers.equals(videoId, mFocusedVideoId) && mFocusedAction != null && !mFocusedAction.isDisposed());
+    }
+
+    private void resolveFocused() {
+        if (mFocusedVideoId != null) {
+            mFocusedAction = resolve(mFocusedVideoId);
+        }
+    }
+}
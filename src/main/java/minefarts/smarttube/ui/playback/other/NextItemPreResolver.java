@@ -0,0 +1,61 @@
+package minefarts.smarttube.ui.playback.other;
+
+import com.liskovsoft.sharedutils.helpers.Helpers;
+import com.liskovsoft.smartyoutubetv2.common.app.models.data.Video;
+import com.liskovsoft.smartyoutubetv2.common.app.views.PlaybackView;
+import minefarts.smarttube.ui.widgets.time.UiClock;
+
+/**
+ * Resolves format info of the next video during the last seconds of the current one.<br/>
+ * Shares {@link FormatInfoPreResolver} with the focused suggestions.
+ */
+public class NextItemPreResolver implements UiClock.Listener {
+    private static final String TAG = NextItemPreResolver.class.getSimpleName();
+    private static final long PRE_RESOLVE_WINDOW_MS = 30_000;
+    private final PlaybackView mView;
+    private Video mNextVideo;
+    private String mResolvedVideoId;
+
+    public NextItemPreResolver(PlaybackView view) {
+        mView = view;
+    }
+
+    /**
+     * Watch the playback position only while there's something to resolve
+     */
+    public void setNextVideo(Video nextVideo) {
+        mNextVideo = nextVideo;
+
+        if (nextVideo != null && nextVideo.videoId != null && !nextVideo.isLive && !Helpers.equals(nextVideo.videoId, mResolvedVideoId)) {
+            UiClock.instance().subscribe(this, UiClock.RESOLUTION_SECOND);
+        } else {
+            UiClock.instance().unsubscribe(this);
+        }
+    }
+
+    public void release() {
+        UiClock.instance().unsubscribe(this);
+        mNextVideo = null;
+    }
+
+    @Override
+    public void onTick(long nowMs) {
+        Video current = mView.getVideo();
+
+        if (current == null || current.isLive || mNextVideo == null) {
+            return;
+        }
+
+        long durationMs = mView.getDurationMs();
+        long positionMs = mView.getPositionMs();
+
+        if (durationMs <= 0 || durationMs - positionMs > PRE_RESOLVE_WINDOW_MS) {
+            return;
+        }
+
+        UiClock.instance().unsubscribe(this);
+
+        mResolvedVideoId = mNextVideo.videoId;
+        FormatInfoPreResolver.instance().resolveNext(mResolvedVideoId);
+    }
+}
@@ -0,0 +1,348 @@
+package minefarts.smarttube.ui.playback.other;
+
+import android.content.Context;
+import android.os.Build;
+import android.os.SystemClock;
+import android.view.Surface;
+import androidx.annotation.Nullable;
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.Format;
+import com.google.android.exoplayer2.Player;
+import com.google.android.exoplayer2.SimpleExoPlayer;
+import com.google.android.exoplayer2.analytics.AnalyticsListener;
+import com.liskovsoft.sharedutils.helpers.Helpers;
+import com.liskovsoft.sharedutils.mylogger.Log;
+import com.liskovsoft.smartyoutubetv2.common.app.models.data.Video;
+import com.liskovsoft.smartyoutubetv2.common.prefs.PlayerData;
+import com.liskovsoft.smartyoutubetv2.common.prefs.PlayerTweaksData;
+import io.reactivex.Completable;
+import io.reactivex.schedulers.Schedulers;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Playback QoE of the current session (one opened video): time to first frame, rebuffers, dropped frames, seek latency,
+ * decoder init time, format switches and engine restarts.<br/>
+ * Survives engine restarts. Shown in the stats overlay. Finished sessions are appended to a csv file in the app files dir
+ * together with the video format and the player settings, so runs on different devices and settings could be compared.<br/>
+ * The file is rotated when it gets too big (one previous file is kept).
+ */
+public class PlaybackMetrics implements AnalyticsListener {
+    private static final String TAG = PlaybackMetrics.class.getSimpleName();
+    private static final String EXPORT_FILE_NAME = "playback_metrics.csv";
+    private static final String EXPORT_OLD_FILE_NAME = "playback_metrics.old.csv";
+    private static final long EXPORT_MAX_SIZE_BYTES = 512 * 1024;
+    private static final String EXPORT_HEADER = "time,device,sdk,video_id,width,height,fps,bitrate,codec," +
+            "buffer_type,data_source,texture_view," +
+            "first_frame_ms,rebuffers,rebuffer_ms,dropped_frames," +
+            "seeks,seek_avg_ms,seek_max_ms,decoder_init_ms,format_switches,manual_switches,restarts,session_ms\n";
+    private static final long[] LATENCY_BUCKETS_MS = {100, 250, 500, 1_000, 2_000, 5_000};
+    private static final long MAX_LATENCY_MS = 30_000; // no video output (background, audio only)
+    private final Context mContext;
+    private SimpleExoPlayer mPlayer;
+    private Session mSession;
+    private long mOpenTimeMs = -1;
+    private long mSeekStartMs = -1;
+    private long mRebufferStartMs = -1;
+    private boolean mIsSeekBuffering;
+    private boolean mHasVideoFormat;
+
+    private static final class Histogram {
+        private final long[] mBounds;
+        private final int[] mCounts;
+        private int mTotalCount;
+        private long mTotalMs;
+        private long mMaxMs;
+
+        private Histogram(long[] bounds) {
+            mBounds = bounds;
+            mCounts = new int[bounds.length + 1];
+        }
+
+        private void add(long valueMs) {
+            int index = 0;
+
+            while (index < mBounds.length && valueMs > mBounds[index]) {
+                index++;
+            }
+
+            mCounts[index]++;
+            mTotalCount++;
+            mTotalMs += valueMs;
+            mMaxMs = Math.max(mMaxMs, valueMs);
+        }
+
+        private long getAverageMs() {
+            return mTotalCount > 0 ? mTotalMs / mTotalCount : 0;
+        }
+
+        private void append(StringBuilder result) {
+            for (int i = 0; i < mCounts.length; i++) {
+                result.append(i > 0 ? " " : "")
+                        .append(i < mBounds.length ? "<" + mBounds[i] : ">" + mBounds[mBounds.length - 1])
+                        .append(':')
+                        .append(mCounts[i]);
+            }
+        }
+    }
+
+    private static final class Session {
+        private final String mVideoId;
+        private final long mStartMs = SystemClock.elapsedRealtime();
+        private final long mStartTimeMs = System.currentTimeMillis();
+        private final Histogram mSeeks = new Histogram(LATENCY_BUCKETS_MS);
+        private final Histogram mRebuffers = new Histogram(LATENCY_BUCKETS_MS);
+        private long mFirstFrameMs = -1;
+        private long mDroppedFrames;
+        private long mDecoderInitMs;
+        private int mFormatSwitches;
+        private int mManualSwitches;
+        private int mRestarts;
+        private Format mVideoFormat; // last one
+
+        private Session(String videoId) {
+            mVideoId = videoId;
+        }
+    }
+
+    public PlaybackMetrics(Context context) {
+        mContext = context.getApplicationContext();
+    }
+
+    public void attach(SimpleExoPlayer player) {
+        detach();
+        mPlayer = player;
+        mPlayer.addAnalyticsListener(this);
+        mHasVideoFormat = false;
+    }
+
+    public void detach() {
+        if (mPlayer != null) {
+            mPlayer.removeAnalyticsListener(this);
+            mPlayer = null;
+        }
+
+        mSeekStartMs = -1;
+        mIsSeekBuffering = false;
+        endRebuffer(SystemClock.elapsedRealtime());
+    }
+
+    /**
+     * New video opened. The same video (engine restart, format reload) continues the session.
+     */
+    public void onOpen(Video video) {
+        String videoId = video != null ? video.videoId : null;
+
+        if (mSession == null || !Helpers.equals(mSession.mVideoId, videoId)) {
+            finishSession();
+            mSession = new Session(videoId);
+        }
+
+        mOpenTimeMs = SystemClock.elapsedRealtime();
+        mSeekStartMs = -1;
+        mHasVideoFormat = false;
+    }
+
+    public void onFormatSelected() {
+        if (mSession != null) {
+            mSession.mManualSwitches++;
+        }
+    }
+
+    public void onEngineRestart() {
+        if (mSession != null) {
+            mSession.mRestarts++;
+        }
+    }
+
+    /**
+     * Export the current session and start from scratch
+     */
+    public void finishSession() {
+        Session session = mSession;
+        mSession = null;
+        mOpenTimeMs = -1;
+
+        if (session == null || session.mFirstFrameMs == -1) {
+            return;
+        }
+
+        Format format = session.mVideoFormat;
+        PlayerTweaksData tweaksData = PlayerTweaksData.instance(mContext);
+
+        String line = String.format(Locale.US, "%d,%s,%d,%s,%d,%d,%.2f,%d,%s,%d,%d,%b,%d,%d,%d,%d,%d,%d,%d,%d,%d,%d,%d,%d\n",
+                session.mStartTimeMs, Build.MODEL.replace(',', ' '), Build.VERSION.SDK_INT, session.mVideoId,
+                format != null ? format.width : -1, format != null ? format.height : -1, format != null ? format.frameRate : -1f,
+                format != null ? format.bitrate : -1, format != null ? getCodec(format) : "",
+                PlayerData.instance(mContext).getVideoBufferType(), tweaksData.getPlayerDataSource(), tweaksData.isTextureViewEnabled(),
+                session.mFirstFrameMs,
+                session.mRebuffers.mTotalCount, session.mRebuffers.mTotalMs, session.mDroppedFrames,
+                session.mSeeks.mTotalCount, session.mSeeks.getAverageMs(), session.mSeeks.mMaxMs, session.mDecoderInitMs,
+                session.mFormatSwitches, session.mManualSwitches, session.mRestarts, SystemClock.elapsedRealtime() - session.mStartMs);
+
+        Completable.fromAction(() -> export(line))
+                .subscribeOn(Schedulers.io())
+                .subscribe(
+                        () -> {},
+                        error -> Log.e(TAG, "Export error: %s", error.getMessage())
+                );
+    }
+
+    public CharSequence getDebugInfo() {
+        Session session = mSession;
+
+        if (session == null) {
+            return null;
+        }
+
+        StringBuilder result = new StringBuilder();
+
+        result.append(String.format(Locale.US, "First frame %s  dropped frames %d  decoder init %d ms\n",
+                session.mFirstFrameMs != -1 ? session.mFirstFrameMs + " ms" : "-", session.mDroppedFrames, session.mDecoderInitMs));
+        result.append(String.format(Locale.US, "Format switches %d (manual %d)  engine restarts %d\n",
+                session.mFormatSwitches, session.mManualSwitches, session.mRestarts));
+        result.append(String.format(Locale.US, "Rebuffers %d  total %d ms  ", session.mRebuffers.mTotalCount, session.mRebuffers.mTotalMs));
+        session.mRebuffers.append(result);
+        result.append(String.format(Locale.US, "\nSeeks %d  avg %d ms  max %d ms  ",
+                session.mSeeks.mTotalCount, session.mSeeks.getAverageMs(), session.mSeeks.mMaxMs));
+        session.mSeeks.append(result);
+
+        return result;
+    }
+
+    @Override
+    public void onPlayerStateChanged(EventTime eventTime, boolean playWhenReady, int playbackState) {
+        if (mSession == null) {
+            return;
+        }
+
+        if (playbackState == Player.STATE_BUFFERING) {
+            // Buffering after a seek or before the first frame isn't a rebuffer
+            if (!mIsSeekBuffering && mSession.mFirstFrameMs != -1 && mOpenTimeMs == -1 && mRebufferStartMs == -1) {
+                mRebufferStartMs = eventTime.realtimeMs;
+            }
+        } else {
+            mIsSeekBuffering = false;
+            endRebuffer(eventTime.realtimeMs);
+        }
+    }
+
+    @Override
+    public void onSeekStarted(EventTime eventTime) {
+        endRebuffer(eventTime.realtimeMs);
+        mIsSeekBuffering = true;
+
+        // Initial position is a part of the open
+        if (mOpenTimeMs == -1) {
+            mSeekStartMs = eventTime.realtimeMs;
+        }
+    }
+
+    @Override
+    public void onRenderedFirstFrame(EventTime eventTime, @Nullable Surface surface) {
+        if (mSession == null) {
+            return;
+        }
+
+        if (mOpenTimeMs != -1) {
+            if (mSession.mFirstFrameMs == -1) {
+                mSession.mFirstFrameMs = eventTime.realtimeMs - mOpenTimeMs;
+            }
+            mOpenTimeMs = -1;
+        } else if (mSeekStartMs != -1) {
+            long latencyMs = eventTime.realtimeMs - mSeekStartMs;
+            if (latencyMs <= MAX_LATENCY_MS) {
+                mSession.mSeeks.add(latencyMs);
+            }
+        }
+
+        mSeekStartMs = -1;
+    }
+
+    @Override
+    public void onDroppedVideoFrames(EventTime eventTime, int droppedFrames, long elapsedMs) {
+        if (mSession != null) {
+            mSession.mDroppedFrames += droppedFrames;
+        }
+    }
+
+    @Override
+    public void onDecoderInitialized(EventTime eventTime, int trackType, String decoderName, long initializationDurationMs) {
+        if (mSession != null && trackType == C.TRACK_TYPE_VIDEO) {
+            mSession.mDecoderInitMs = initializationDurationMs;
+        }
+    }
+
+    @Override
+    public void onDecoderInputFormatChanged(EventTime eventTime, int trackType, Format format) {
+        if (mSession == null || trackType != C.TRACK_TYPE_VIDEO) {
+            return;
+        }
+
+        // First format of the opened media isn't a switch
+        if (mHasVideoFormat) {
+            mSession.mFormatSwitches++;
+        }
+
+        mHasVideoFormat = true;
+        mSession.mVideoFormat = format;
+    }
+
+    private static String getCodec(Format format) {
+        String codec = format.codecs != null ? format.codecs : format.sampleMimeType;
+
+        return codec != null ? codec.replace(',', ' ') : "";
+    }
+
+    private void endRebuffer(long nowMs) {
+        if (mRebufferStartMs == -1) {
+            return;
+        }
+
+        if (mSession != null) {
+            mSession.mRebuffers.add(nowMs - mRebufferStartMs);
+        }
+
+        mRebufferStartMs = -1;
+    }
+
+    private void export(String line) throws IOException {
+        File dir = mContext.getExternalFilesDir(null);
+
+        if (dir == null) {
+            dir = mContext.getFilesDir();
+        }
+
+        File file = new File(dir, EXPORT_FILE_NAME);
+
+        // Too big or written with other columns
+        if (file.exists() && (file.length() > EXPORT_MAX_SIZE_BYTES || !hasHeader(file))) {
+            File oldFile = new File(dir, EXPORT_OLD_FILE_NAME);
+            oldFile.delete();
+            if (!file.renameTo(oldFile)) {
+                Log.e(TAG, "Can't rotate %s", file);
+                file.delete();
+            }
+        }
+
+        boolean isNew = !file.exists();
+
+        try (FileWriter writer = new FileWriter(file, true)) {
+            if (isNew) {
+                writer.write(EXPORT_HEADER);
+            }
+            writer.write(line);
+        }
+    }
+
+    private static boolean hasHeader(File file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            return (reader.readLine() + "\n").equals(EXPORT_HEADER);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package minefarts.smarttube.ui.playback.other;
+
+import com.google.android.exoplayer2.SeekParameters;
+import com.google.android.exoplayer2.SimpleExoPlayer;
+
+/**
+ * User seeks (seek bar scrub) snap to a nearby key frame, so playback resumes without decoding from the previous one.<br/>
+ * Seek latency is measured by {@link PlaybackMetrics}.
+ */
+public class SeekEngine {
+    private static final long SNAP_TOLERANCE_US = 1_500_000;
+    private static final SeekParameters SNAP_TO_KEY_FRAME = new SeekParameters(SNAP_TOLERANCE_US, SNAP_TOLERANCE_US);
+    private final SimpleExoPlayer mPlayer;
+
+    public SeekEngine(SimpleExoPlayer player) {
+        mPlayer = player;
+    }
+
+    public void onUserSeekStarted() {
+        mPlayer.setSeekParameters(SNAP_TO_KEY_FRAME);
+    }
+
+    /**
+     * Restores exact seeks. Called after the committed (snapped) seek and before the seek back on cancel.<br/>
+     * Other seeks (skip segments, chapters, cancel) should stay exact.
+     */
+    public void onUserSeekFinished() {
+        mPlayer.setSeekParameters(SeekParameters.DEFAULT);
+    }
+}
@@ -0,0 +1,129 @@
+package minefarts.smarttube.ui.playback.other;
+
+import android.net.Uri;
+import android.support.v4.media.MediaDescriptionCompat;
+import android.support.v4.media.session.MediaSessionCompat;
+import android.support.v4.media.session.MediaSessionCompat.QueueItem;
+import android.support.v4.media.session.PlaybackStateCompat;
+import com.google.android.exoplayer2.ControlDispatcher;
+import com.google.android.exoplayer2.Player;
+import com.liskovsoft.smartyoutubetv2.common.app.models.data.Video;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exposes current video, next video and the first suggestions as the media session queue.<br/>
+ * Queue item id is the index inside the queue. Current video always has id 0.
+ */
+public class SuggestionsQueueNavigator extends BackboneQueueNavigator {
+    private static final int MAX_QUEUE_SIZE = 10;
+    private static final long ACTIVE_ITEM_ID = 0;
+    private final MediaSessionCompat mMediaSession;
+    private final Listener mListener;
+    private final List<Video> mQueue = new ArrayList<>();
+
+    public interface Listener {
+        void onPrevious();
+        void onNext();
+        void onQueueItem(Video video);
+    }
+
+    public SuggestionsQueueNavigator(MediaSessionCompat mediaSession, Listener listener) {
+        mMediaSession = mediaSession;
+        mListener = listener;
+    }
+
+    /**
+     * @param suggestions may contain current or next video. They will be skipped.
+     */
+    public void setQueue(Video current, Video next, List<Video> suggestions) {
+        mQueue.clear();
+
+        if (current == null) {
+            mMediaSession.setQueue(null);
+            return;
+        }
+
+        mQueue.add(current);
+        addToQueue(next);
+
+        if (suggestions != null) {
+            for (Video video : suggestions) {
+                if (mQueue.size() >= MAX_QUEUE_SIZE) {
+                    break;
+                }
+
+                addToQueue(video);
+            }
+        }
+
+        List<QueueItem> items = new ArrayList<>(mQueue.size());
+
+        for (int i = 0; i < mQueue.size(); i++) {
+            items.add(new QueueItem(createDescription(mQueue.get(i)), i));
+        }
+
+        mMediaSession.setQueue(items);
+    }
+
+    @Override
+    public long getSupportedQueueNavigatorActions(Player player) {
+        long actions = PlaybackStateCompat.ACTION_SKIP_TO_PREVIOUS | PlaybackStateCompat.ACTION_SKIP_TO_NEXT;
+
+        if (mQueue.size() > 1) {
+            actions |= PlaybackStateCompat.ACTION_SKIP_TO_QUEUE_ITEM;
+        }
+
+        return actions;
+    }
+
+    @Override
+    public long getActiveQueueItemId(Player player) {
+        return mQueue.isEmpty() ? QueueItem.UNKNOWN_ID : ACTIVE_ITEM_ID;
+    }
+
+    @Override
+    public void onSkipToPrevious(Player player, ControlDispatcher controlDispatcher) {
+        mListener.onPrevious();
+    }
+
+    @Override
+    public void onSkipToNext(Player player, ControlDispatcher controlDispatcher) {
+        mListener.onNext();
+    }
+
+    @Override
+    public void onSkipToQueueItem(Player player, ControlDispatcher controlDispatcher, long id) {
+        if (id > ACTIVE_ITEM_ID && id < mQueue.size()) {
+            mListener.onQueueItem(mQueue.get((int) id));
+        }
+    }
+
+    private void addToQueue(Video video) {
+        if (video == null || video.videoId == null) {
+            return;
+        }
+
+        for (Video item : mQueue) {
+            if (video.videoId.equals(item.videoId)) {
+                return;
+            }
+        }
+
+        mQueue.add(video);
+    }
+
+    private static MediaDescriptionCompat createDescription(Video video) {
+        MediaDescriptionCompat.Builder builder = new MediaDescriptionCompat.Builder()
+                .setMediaId(video.videoId)
+                .setTitle(video.getTitle())
+                .setSubtitle(video.getAuthor());
+
+        if (video.getCardImageUrl() != null) {
+            builder.setIconUri(Uri.parse(video.getCardImageUrl()));
+        }
+
+        return builder.build();
+    }
+}
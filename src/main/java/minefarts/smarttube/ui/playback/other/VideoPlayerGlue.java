@@ -84,6 +84,7 @@ public class VideoPlayerGlue extends MaxControlsVideoPlayerGlue<PlayerAdapter> i
     private final PlaybackControlsRow.FastForwardAction mFastForwardAction;
     private final PlaybackControlsRow.RewindAction mRewindAction;
     private final Map<Integer, Action> mActions = new HashMap<>();
+    private final Map<Integer, Integer> mPendingStates = new HashMap<>();
     private final OnActionClickedListener mActionListener;
     private final PlayerTweaksData mPlayerTweaksData;
     private final GeneralData mGeneralData;
@@ -104,36 +105,6 @@ public class VideoPlayerGlue extends MaxControlsVideoPlayerGlue<PlayerAdapter> i
         mSkipNextAction = new PlaybackControlsRow.SkipNextAction(context);
         mFastForwardAction = new PlaybackControlsRow.FastForwardAction(context);
         mRewindAction = new PlaybackControlsRow.RewindAction(context);
-
-        ThumbsUpAction thumbsUpAction = new ThumbsUpAction(context);
-        ThumbsDownAction thumbsDownAction = new ThumbsDownAction(context);
-        thumbsUpAction.setBoundAction(thumbsDownAction);
-        thumbsDownAction.setBoundAction(thumbsUpAction);
-        putAction(thumbsUpAction);
-        putAction(thumbsDownAction);
-
-        putAction(new HighQualityAction(context));
-        putAction(new PlaybackModeAction(context));
-        putAction(new ChannelAction(context));
-        putAction(new ClosedCaptioningAction(context));
-        putAction(new PlaylistAddAction(context));
-        putAction(new SubscribeAction(context));
-        putAction(new VideoInfoAction(context));
-        putAction(new VideoSpeedAction(context));
-        putAction(new VideoStatsAction(context));
-        putAction(new SearchAction(context));
-        putAction(new PipAction(context));
-        putAction(new AFRAction(context));
-        putAction(new ScreenDimmingAction(context));
-        putAction(new ChatAction(context));
-        putAction(new PlaybackQueueAction(context));
-        putAction(new ContentBlockAction(context));
-        putAction(new ShareAction(context));
-        putAction(new SeekIntervalAction(context));
-        putAction(new VideoZoomAction(context));
-        putAction(new RotateAction(context));
-        putAction(new FlipAction(context));
-        putAction(new SoundOffAction(context));
     }
 
     @Override
@@ -155,43 +126,43 @@ public class VideoPlayerGlue extends MaxControlsVideoPlayerGlue<PlayerAdapter> i
             adapter.add(mSkipNextAction);
         }
         if (mPlayerTweaksData.isPlayerButtonEnabled(PlayerTweaksData.PLAYER_BUTTON_REPEAT_MODE)) {
-            adapter.add(mActions.get(R.id.action_repeat));
+            adapter.add(getAction(R.id.action_repeat));
         }
         if (mPlayerTweaksData.isPlayerButtonEnabled(PlayerTweaksData.PLAYER_BUTTON_VIDEO_SPEED)) {
-            adapter.add(mActions.get(R.id.action_video_speed));
+            adapter.add(getAction(R.id.action_video_speed));
         }
         if (mPlayerTweaksData.isPlayerButtonEnabled(PlayerTweaksData.PLAYER_BUTTON_PIP)) {
-            adapter.add(mActions.get(R.id.action_pip));
+            adapter.add(getAction(R.id.action_pip));
         }
         if (mPlayerTweaksData.isPlayerButtonEnabled(PlayerTweaksData.PLAYER_BUTTON_SCREEN_DIMMING)) {
-            adapter.add(mActions.get(R.id.action_screen_dimming));
+            adapter.add(getAction(R.id.action_screen_dimming));
         }
         if (mPlayerTweaksData.isPlayerButtonEnabled(PlayerTweaksData.PLAYER_BUTTON_CHAT)) {
-            adapter.add(mActions.get(R.id.action_chat));
+            adapter.add(getAction(R.id.action_chat));
         }
         if (mPlayerTweaksData.isPlayerButtonEnabled(PlayerTweaksData.PLAYER_BUTTON_SEARCH)) {
-            adapter.add(mActions.get(R.id.action_search));
+            adapter.add(getAction(R.id.action_search));
         }
         if (mPlayerTweaksData.isPlayerButtonEnabled(PlayerTweaksData.PLAYER_BUTTON_SHARE)) {
-            adapter.add(mActions.get(R.id.action_share));
+            adapter.add(getAction(R.id.action_share));
         }
         if (mPlayerTweaksData.isPlayerButtonEnabled(PlayerTweaksData.PLAYER_BUTTON_SEEK_INTERVAL)) {
-            adapter.add(mActions.get(R.id.action_seek_interval));
+            adapter.add(getAction(R.id.action_seek_interval));
         }
         if (mPlayerTweaksData.isPlayerButtonEnabled(PlayerTweaksData.PLAYER_BUTTON_VIDEO_ZOOM)) {
-            adapter.add(mActions.get(R.id.action_video_zoom));
+            adapter.add(getAction(R.id.action_video_zoom));
         }
         if (mPlayerTweaksData.isPlayerButtonEnabled(PlayerTweaksData.PLAYER_BUTTON_VIDEO_ROTATE)) {
-            adapter.add(mActions.get(R.id.action_rotate));
+            adapter.add(getAction(R.id.action_rotate));
         }
         if (mPlayerTweaksData.isPlayerButtonEnabled(PlayerTweaksData.PLAYER_BUTTON_VIDEO_FLIP)) {
-            adapter.add(mActions.get(R.id.action_flip));
+            adapter.add(getAction(R.id.action_flip));
         }
         if (mPlayerTweaksData.isPlayerButtonEnabled(PlayerTweaksData.PLAYER_BUTTON_SOUND_OFF)) {
-            adapter.add(mActions.get(R.id.action_sound_off));
+            adapter.add(getAction(R.id.action_sound_off));
         }
         if (mPlayerTweaksData.isPlayerButtonEnabled(PlayerTweaksData.PLAYER_BUTTON_AFR)) {
-            adapter.add(mActions.get(R.id.action_afr));
+            adapter.add(getAction(R.id.action_afr));
         }
     }
 
@@ -205,37 +176,37 @@ public class VideoPlayerGlue extends MaxControlsVideoPlayerGlue<PlayerAdapter> i
         // Custom mod: {@link minefarts.smarttube.ui.mod.leanback.playerglue.ControlBarPresenter#MAX_CONTROLS}
 
         if (mPlayerTweaksData.isPlayerButtonEnabled(PlayerTweaksData.PLAYER_BUTTON_HIGH_QUALITY)) {
-            adapter.add(mActions.get(R.id.lb_control_high_quality));
+            adapter.add(getAction(R.id.lb_control_high_quality));
         }
         if (mPlayerTweaksData.isPlayerButtonEnabled(PlayerTweaksData.PLAYER_BUTTON_OPEN_CHANNEL)) {
-            adapter.add(mActions.get(R.id.action_channel));
+            adapter.add(getAction(R.id.action_channel));
         }
         if (mPlayerTweaksData.isPlayerButtonEnabled(PlayerTweaksData.PLAYER_BUTTON_LIKE)) {
-            adapter.add(mActions.get(R.id.action_thumbs_up));
+            adapter.add(getAction(R.id.action_thumbs_up));
         }
         if (mPlayerTweaksData.isPlayerButtonEnabled(PlayerTweaksData.PLAYER_BUTTON_DISLIKE)) {
-            adapter.add(mActions.get(R.id.action_thumbs_down));
+            adapter.add(getAction(R.id.action_thumbs_down));
         }
         if (mPlayerTweaksData.isPlayerButtonEnabled(PlayerTweaksData.PLAYER_BUTTON_SUBTITLES)) {
-            adapter.add(mActions.get(R.id.lb_control_closed_captioning));
+            adapter.add(getAction(R.id.lb_control_closed_captioning));
         }
         if (mPlayerTweaksData.isPlayerButtonEnabled(PlayerTweaksData.PLAYER_BUTTON_ADD_TO_PLAYLIST)) {
-            adapter.add(mActions.get(R.id.action_playlist_add));
+            adapter.add(getAction(R.id.action_playlist_add));
         }
         if (mPlayerTweaksData.isPlayerButtonEnabled(PlayerTweaksData.PLAYER_BUTTON_SUBSCRIBE)) {
-            adapter.add(mActions.get(R.id.action_subscribe));
+            adapter.add(getAction(R.id.action_subscribe));
         }
         if (mPlayerTweaksData.isPlayerButtonEnabled(PlayerTweaksData.PLAYER_BUTTON_VIDEO_INFO)) {
-            adapter.add(mActions.get(R.id.action_info));
+            adapter.add(getAction(R.id.action_info));
         }
         if (mPlayerTweaksData.isPlayerButtonEnabled(PlayerTweaksData.PLAYER_BUTTON_PLAYBACK_QUEUE)) {
-            adapter.add(mActions.get(R.id.action_playback_queue));
+            adapter.add(getAction(R.id.action_playback_queue));
         }
         if (mPlayerTweaksData.isPlayerButtonEnabled(PlayerTweaksData.PLAYER_BUTTON_CONTENT_BLOCK)) {
-            adapter.add(mActions.get(R.id.action_content_block));
+            adapter.add(getAction(R.id.action_content_block));
         }
         if (mPlayerTweaksData.isPlayerButtonEnabled(PlayerTweaksData.PLAYER_BUTTON_VIDEO_STATS)) {
-            adapter.add(mActions.get(R.id.action_video_stats));
+            adapter.add(getAction(R.id.action_video_stats));
         }
     }
 
@@ -281,6 +252,16 @@ public class VideoPlayerGlue extends MaxControlsVideoPlayerGlue<PlayerAdapter> i
         mActionListener.onPrevious();
     }
 
+    @Override
+    protected void onUserSeekStarted() {
+        mActionListener.onSeekStarted();
+    }
+
+    @Override
+    protected void onUserSeekFinished() {
+        mActionListener.onSeekFinished();
+    }
+
     public void togglePlayback() {
         if (isPlaying()) {
             pause();
@@ -306,11 +287,35 @@ public class VideoPlayerGlue extends MaxControlsVideoPlayerGlue<PlayerAdapter> i
     }
 
     public int getButtonState(int buttonId) {
-        return getActionIndex(mActions.get(buttonId));
+        Action action = mActions.get(buttonId);
+
+        if (action == null) {
+            Integer state = mPendingStates.get(buttonId);
+            return state != null && state != -1 ? state : 0;
+        }
+
+        return getActionIndex(action);
     }
 
     public void setButtonState(int buttonId, int buttonState) {
-        setActionIndex(mActions.get(buttonId), buttonState);
+        Action action = mActions.get(buttonId);
+
+        if (action == null) {
+            // Hidden button. Keep the state until the action is created.
+            mPendingStates.put(buttonId, buttonState);
+
+            if (buttonState == TwoStateAction.INDEX_ON) {
+                int boundId = getBoundActionId(buttonId);
+                if (mActions.containsKey(boundId)) {
+                    setActionIndex(mActions.get(boundId), TwoStateAction.INDEX_OFF);
+                } else {
+                    mPendingStates.remove(boundId);
+                }
+            }
+            return;
+        }
+
+        setActionIndex(action, buttonState);
     }
 
     public void setChannelIcon(String iconUrl) {
@@ -513,8 +518,109 @@ public class VideoPlayerGlue extends MaxControlsVideoPlayerGlue<PlayerAdapter> i
         return action;
     }
 
-    private void putAction(Action action) {
-        mActions.put((int) action.getId(), action);
+    /**
+     * Actions are created on first use, so hidden buttons don't cost inflation of their icons.
+     */
+    private Action getAction(int actionId) {
+        Action action = mActions.get(actionId);
+
+        if (action == null) {
+            action = createAction(actionId);
+
+            if (action == null) {
+                return null;
+            }
+
+            mActions.put(actionId, action);
+
+            int boundId = getBoundActionId(actionId);
+            Action boundAction = boundId != -1 ? mActions.get(boundId) : null;
+            if (boundAction != null) {
+                ((TwoStateAction) action).setBoundAction((TwoStateAction) boundAction);
+                ((TwoStateAction) boundAction).setBoundAction((TwoStateAction) action);
+            }
+
+            Integer state = mPendingStates.remove(actionId);
+            if (state != null) {
+                setActionIndex(action, state);
+            }
+        }
+
+        return action;
+    }
+
+    /**
+     * Resource ids aren't final in library modules, so no switch here
+     */
+    private Action createAction(int actionId) {
+        Context context = getContext();
+
+        if (actionId == R.id.action_thumbs_up) {
+            return new ThumbsUpAction(context);
+        } else if (actionId == R.id.action_thumbs_down) {
+            return new ThumbsDownAction(context);
+        } else if (actionId == R.id.lb_control_high_quality) {
+            return new HighQualityAction(context);
+        } else if (actionId == R.id.action_repeat) {
+            return new PlaybackModeAction(context);
+        } else if (actionId == R.id.action_channel) {
+            return new ChannelAction(context);
+        } else if (actionId == R.id.lb_control_closed_captioning) {
+            return new ClosedCaptioningAction(context);
+        } else if (actionId == R.id.action_playlist_add) {
+            return new PlaylistAddAction(context);
+        } else if (actionId == R.id.action_subscribe) {
+            return new SubscribeAction(context);
+        } else if (actionId == R.id.action_info) {
+            return new VideoInfoAction(context);
+        } else if (actionId == R.id.action_video_speed) {
+            return new VideoSpeedAction(context);
+        } else if (actionId == R.id.action_video_stats) {
+            return new VideoStatsAction(context);
+        } else if (actionId == R.id.action_search) {
+            return new SearchAction(context);
+        } else if (actionId == R.id.action_pip) {
+            return new PipAction(context);
+        } else if (actionId == R.id.action_afr) {
+            return new AFRAction(context);
+        } else if (actionId == R.id.action_screen_dimming) {
+            return new ScreenDimmingAction(context);
+        } else if (actionId == R.id.action_chat) {
+            return new ChatAction(context);
+        } else if (actionId == R.id.action_playback_queue) {
+            return new PlaybackQueueAction(context);
+        } else if (actionId == R.id.action_content_block) {
+            return new ContentBlockAction(context);
+        } else if (actionId == R.id.action_share) {
+            return new ShareAction(context);
+        } else if (actionId == R.id.action_seek_interval) {
+            return new SeekIntervalAction(context);
+        } else if (actionId == R.id.action_video_zoom) {
+            return new VideoZoomAction(context);
+        } else if (actionId == R.id.action_rotate) {
+            return new RotateAction(context);
+        } else if (actionId == R.id.action_flip) {
+            return new FlipAction(context);
+        } else if (actionId == R.id.action_sound_off) {
+            return new SoundOffAction(context);
+        }
+
+        Log.e(TAG, "Unknown action id: %s", actionId);
+
+        return null;
+    }
+
+    /**
+     * Like and dislike are mutually exclusive
+     */
+    private static int getBoundActionId(int actionId) {
+        if (actionId == R.id.action_thumbs_up) {
+            return R.id.action_thumbs_down;
+        } else if (actionId == R.id.action_thumbs_down) {
+            return R.id.action_thumbs_up;
+        }
+
+        return -1;
     }
 
     private int getActionIndex(Action action) {
@@ -591,6 +697,10 @@ public class VideoPlayerGlue extends MaxControlsVideoPlayerGlue<PlayerAdapter> i
 
         void onTopEdgeFocused();
 
+        void onSeekStarted();
+
+        void onSeekFinished();
+
         boolean onKeyDown(int keyCode);
     }
 }
@@ -32,9 +32,9 @@ public class GlideThumbnailTransformation extends BitmapTransformation {
         mMaxColumns = colCount;
         mThumbDurationMS = durationMS;
 
-        int thumbPos = (int) position / mThumbDurationMS;
-        mY = thumbPos / mMaxLines;
-        mX = thumbPos % mMaxColumns;
+        int thumbPos = StoryboardMath.getThumbPos(position, mThumbDurationMS);
+        mY = StoryboardMath.getThumbLine(thumbPos, mMaxLines);
+        mX = StoryboardMath.getThumbColumn(thumbPos, mMaxColumns);
 
         if (BuildConfig.DEBUG) {
             Log.d(TAG, "Thumbnail coordinates (%sx%s): pos: %s, line: %s, col: %s", mMaxColumns, mMaxLines, thumbPos + 1, mY + 1, mX + 1);
@@ -17,6 +17,7 @@ import com.liskovsoft.mediaserviceinterfaces.data.MediaItemStoryboard.Size;
 import com.liskovsoft.sharedutils.mylogger.Log;
 import com.liskovsoft.sharedutils.rx.RxHelper;
 import com.liskovsoft.smartyoutubetv2.common.app.models.data.Video;
+import minefarts.smarttube.util.DecodePolicy;
 import minefarts.smarttube.util.ViewUtil;
 import com.liskovsoft.youtubeapi.service.YouTubeServiceManager;
 import io.reactivex.Observable;
@@ -85,17 +86,7 @@ public class StoryboardManager {
             return;
         }
 
-        long frameDurationMS = getFrameDurationMsAlt();
-
-        if (frameDurationMS <= 100) {
-            return;
-        }
-
-        int size = (int) (mLengthMs / frameDurationMS);
-        mSeekPositions = new long[size];
-        for (int i = 0; i < mSeekPositions.length; i++) {
-            mSeekPositions[i] = i * (mLengthMs / mSeekPositions.length);
-        }
+        mSeekPositions = StoryboardMath.createSeekPositions(mLengthMs, getFrameDurationMsAlt());
     }
 
     private long getFrameDurationMs() {
@@ -109,7 +100,7 @@ public class StoryboardManager {
 
         Size groupSize = mStoryboard.getGroupSize();
 
-        return mStoryboard.getGroupDurationMS() / ((long) groupSize.getRowCount() * groupSize.getColCount());
+        return StoryboardMath.getFrameDurationMs(mStoryboard.getGroupDurationMS(), groupSize.getRowCount(), groupSize.getColCount());
     }
 
     public long[] getSeekPositions() {
@@ -134,8 +125,8 @@ public class StoryboardManager {
             return;
         }
 
-        int groupNum = (int) currentPosition / mStoryboard.getGroupDurationMS();
-        long realPosMS = currentPosition % mStoryboard.getGroupDurationMS();
+        int groupNum = StoryboardMath.getGroupNum(currentPosition, mStoryboard.getGroupDurationMS());
+        long realPosMS = StoryboardMath.getGroupPositionMs(currentPosition, mStoryboard.getGroupDurationMS());
         Size size = mStoryboard.getGroupSize();
         GlideThumbnailTransformation transformation =
                 new GlideThumbnailTransformation(realPosMS, size.getWidth(), size.getHeight(), size.getRowCount(), size.getColCount(), size.getDurationEachMS());
@@ -146,6 +137,8 @@ public class StoryboardManager {
                 .asBitmap()
                 .load(mStoryboard.getGroupUrl(groupNum))
                 .apply(ViewUtil.glideOptions())
+                .apply(DecodePolicy.options(mContext, DecodePolicy.TYPE_STORYBOARD))
+                .addListener(DecodePolicy.track(DecodePolicy.TYPE_STORYBOARD))
                 .override(Target.SIZE_ORIGINAL, Target.SIZE_ORIGINAL)
                 .transform(transformation)
                 .into(new CustomTarget<Bitmap>() {
@@ -0,0 +1,64 @@
+package minefarts.smarttube.ui.playback.previewtimebar;
+
+/**
+ * Storyboard index math shared by the {@link StoryboardManager} and the {@link GlideThumbnailTransformation}.<br/>
+ * Pure java so it could be measured outside of the device.
+ */
+public final class StoryboardMath {
+    private StoryboardMath() {
+    }
+
+    /**
+     * Seek positions evenly distributed over the video length
+     * @return null if the frame duration is too small
+     */
+    public static long[] createSeekPositions(long lengthMs, long frameDurationMs) {
+        if (lengthMs <= 0 || frameDurationMs <= 100) {
+            return null;
+        }
+
+        int size = (int) (lengthMs / frameDurationMs);
+        long[] seekPositions = new long[size];
+        for (int i = 0; i < seekPositions.length; i++) {
+            seekPositions[i] = i * (lengthMs / seekPositions.length);
+        }
+
+        return seekPositions;
+    }
+
+    /**
+     * Duration of the single frame inside the group image
+     */
+    public static long getFrameDurationMs(long groupDurationMs, int rowCount, int colCount) {
+        return groupDurationMs / ((long) rowCount * colCount);
+    }
+
+    /**
+     * Number of the group image that contains the position
+     */
+    public static int getGroupNum(long positionMs, int groupDurationMs) {
+        return (int) positionMs / groupDurationMs;
+    }
+
+    /**
+     * Position relative to the start of the group image
+     */
+    public static long getGroupPositionMs(long positionMs, int groupDurationMs) {
+        return positionMs % groupDurationMs;
+    }
+
+    /**
+     * Number of the thumbnail inside the group image
+     */
+    public static int getThumbPos(long groupPositionMs, int thumbDurationMs) {
+        return (int) groupPositionMs / thumbDurationMs;
+    }
+
+    public static int getThumbLine(int thumbPos, int maxLines) {
+        return thumbPos / maxLines;
+    }
+
+    public static int getThumbColumn(int thumbPos, int maxColumns) {
+        return thumbPos % maxColumns;
+    }
+}
@@ -11,7 +11,6 @@ import androidx.leanback.app.RowsSupportFragment;
 import androidx.leanback.widget.ArrayObjectAdapter;
 import androidx.leanback.widget.HeaderItem;
 import androidx.leanback.widget.ListRow;
-import androidx.leanback.widget.ListRowPresenter;
 import androidx.leanback.widget.ObjectAdapter;
 import androidx.leanback.widget.RowPresenter.ViewHolder;
 import androidx.leanback.widget.SpeechRecognitionCallback;
@@ -49,7 +48,7 @@ public abstract class SearchTagsFragmentBase extends SearchSupportFragment
     private TagAdapter mSearchTagsAdapter;
     //private ObjectAdapter mItemResultsAdapter;
     private ArrayObjectAdapter mResultsAdapter; // contains tags adapter and results adapter (see attachAdapter method)
-    private ListRowPresenter mResultsPresenter;
+    private CustomListRowPresenter mResultsPresenter;
     private TagPresenter mTagsPresenter;
 
     private boolean mIsStopping;
@@ -79,6 +78,13 @@ public abstract class SearchTagsFragmentBase extends SearchSupportFragment
         return root;
     }
 
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+
+        mResultsPresenter.releaseCards();
+    }
+
     @Override
     public void onStart() {
         super.onStart();
@@ -0,0 +1,151 @@
+package minefarts.smarttube.ui.widgets.chat;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.drawable.Drawable;
+import android.text.TextUtils;
+import android.util.LruCache;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.request.target.CustomTarget;
+import com.bumptech.glide.request.transition.Transition;
+import minefarts.smarttube.util.DecodePolicy;
+import minefarts.smarttube.util.ViewUtil;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Shared avatar cache for the chat and comments.<br/>
+ * Stores already circle cropped bitmaps keyed by (url, target px) and dedupes concurrent requests of the same author.<br/>
+ * So the busy chat costs one decode per author instead of one per message.<br/>
+ * NOTE: should be accessed from the main thread only.
+ */
+public class ChatAvatarCache {
+    private static final int MAX_CACHE_BYTES = 2 * 1024 * 1024; // 2 MB
+    private static final int DEFAULT_AVATAR_SIZE_DP = 40;
+    private static ChatAvatarCache sInstance;
+    private final Context mContext;
+    private final LruCache<String, Bitmap> mCache = new LruCache<String, Bitmap>(MAX_CACHE_BYTES) {
+        @Override
+        protected int sizeOf(String key, Bitmap value) {
+            return value.getByteCount();
+        }
+    };
+    private final Map<String, List<WeakReference<ImageView>>> mPending = new HashMap<>();
+    /**
+     * Recycled views fix: the view should receive only the last requested avatar
+     */
+    private final Map<ImageView, String> mBoundKeys = new WeakHashMap<>();
+
+    private ChatAvatarCache(Context context) {
+        mContext = context.getApplicationContext();
+    }
+
+    public static ChatAvatarCache instance(Context context) {
+        if (sInstance == null) {
+            sInstance = new ChatAvatarCache(context);
+        }
+
+        return sInstance;
+    }
+
+    public void load(ImageView imageView, String url) {
+        if (imageView == null) {
+            return;
+        }
+
+        if (TextUtils.isEmpty(url)) {
+            mBoundKeys.remove(imageView);
+            imageView.setImageDrawable(null);
+            return;
+        }
+
+        int sizePx = getTargetSize(imageView);
+        String key = url + "@" + sizePx;
+        mBoundKeys.put(imageView, key);
+
+        Bitmap cached = mCache.get(key);
+
+        if (cached != null) {
+            imageView.setImageBitmap(cached);
+            return;
+        }
+
+        imageView.setImageDrawable(null);
+
+        List<WeakReference<ImageView>> waiting = mPending.get(key);
+
+        if (waiting != null) { // same author is loading already
+            waiting.add(new WeakReference<>(imageView));
+            return;
+        }
+
+        waiting = new ArrayList<>();
+        waiting.add(new WeakReference<>(imageView));
+        mPending.put(key, waiting);
+
+        Glide.with(mContext)
+                .asBitmap()
+                .load(url)
+                .apply(ViewUtil.glideOptions())
+                .apply(DecodePolicy.options(mContext, DecodePolicy.TYPE_AVATAR))
+                .addListener(DecodePolicy.track(DecodePolicy.TYPE_AVATAR))
+                .circleCrop() // resize image
+                .into(new CustomTarget<Bitmap>(sizePx, sizePx) {
+                    @Override
+                    public void onResourceReady(@NonNull Bitmap resource, @Nullable Transition<? super Bitmap> transition) {
+                        onAvatarLoaded(key, resource);
+                    }
+
+                    @Override
+                    public void onLoadFailed(@Nullable Drawable errorDrawable) {
+                        mPending.remove(key);
+                    }
+
+                    @Override
+                    public void onLoadCleared(@Nullable Drawable placeholder) {
+                        // NOP
+                    }
+                });
+    }
+
+    private void onAvatarLoaded(String key, Bitmap bitmap) {
+        mCache.put(key, bitmap);
+
+        List<WeakReference<ImageView>> waiting = mPending.remove(key);
+
+        if (waiting == null) {
+            return;
+        }
+
+        for (WeakReference<ImageView> reference : waiting) {
+            ImageView imageView = reference.get();
+
+            if (imageView != null && key.equals(mBoundKeys.get(imageView))) {
+                imageView.setImageBitmap(bitmap);
+            }
+        }
+    }
+
+    private int getTargetSize(ImageView imageView) {
+        ViewGroup.LayoutParams lp = imageView.getLayoutParams();
+
+        if (lp != null && lp.width > 0) {
+            return lp.width;
+        }
+
+        if (imageView.getWidth() > 0) {
+            return imageView.getWidth();
+        }
+
+        return (int) (DEFAULT_AVATAR_SIZE_DP * imageView.getResources().getDisplayMetrics().density);
+    }
+}
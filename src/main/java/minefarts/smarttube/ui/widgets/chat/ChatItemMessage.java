@@ -18,8 +18,6 @@ import java.util.Date;
 import java.util.List;
 
 public class ChatItemMessage implements IMessage {
-    private static final int MAX_LENGTH = 700;
-    private static final int LINE_LENGTH = 30;
     private String mId;
     private CharSequence mText;
     private ChatItemAuthor mAuthor;
@@ -60,12 +58,9 @@ public class ChatItemMessage implements IMessage {
 
     public static List<ChatItemMessage> fromSplit(Context context, CommentItem commentItem) {
         if (shouldSplit(commentItem)) {
-            List<String> comments = Helpers.splitStringBySize(commentItem.getMessage(), getRealMaxLen(commentItem.getMessage()));
+            List<String> comments = ChatMessageSplitter.split(commentItem.getMessage());
             List<ChatItemMessage> result = new ArrayList<>();
-            for (int i = 0; i < comments.size(); i++) {
-                String prefix = i > 0 ? "..." : "";
-                String postfix = i < (comments.size() - 1) ? "..." : "";
-                String comment = prefix + comments.get(i) + postfix;
+            for (String comment : comments) {
                 result.add(from(context, new CommentItem() {
                     public String getId() {
                         return String.valueOf(comment.hashCode());
@@ -116,49 +111,7 @@ public class ChatItemMessage implements IMessage {
     }
 
     public static boolean shouldSplit(CommentItem commentItem) {
-        return commentItem != null && commentItem.getMessage() != null && commentItem.getMessage().length() > getRealMaxLen(commentItem.getMessage());
-    }
-
-    private static int getRealMaxLen(String text) {
-        if (text == null) {
-            return -1;
-        }
-
-        String[] split = text.split("\n");
-
-        if (split.length == 1) {
-            return MAX_LENGTH;
-        }
-
-        List<String> splitNoLongLines = new ArrayList<>();
-        for (String line : split) {
-            while (line.length() > LINE_LENGTH) {
-                int breakPoint = line.lastIndexOf(' ', LINE_LENGTH);
-
-                if (breakPoint == -1) {
-                    breakPoint = LINE_LENGTH;
-                }
-
-                splitNoLongLines.add(line.substring(0, breakPoint));
-                line = line.substring(breakPoint).trim();
-            }
-            splitNoLongLines.add(line);
-        }
-        split = splitNoLongLines.toArray(new String[0]);
-
-        int realCount = 0;
-        int fakeCount = 0;
-
-        for (String part : split) {
-            realCount += part.length();
-            fakeCount += Math.max(part.length(), LINE_LENGTH);
-
-            if (fakeCount > MAX_LENGTH) {
-                return realCount;
-            }
-        }
-
-        return MAX_LENGTH;
+        return commentItem != null && ChatMessageSplitter.shouldSplit(commentItem.getMessage());
     }
 
     @Override
@@ -0,0 +1,81 @@
+package minefarts.smarttube.ui.widgets.chat;
+
+import com.liskovsoft.sharedutils.helpers.Helpers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits long comments into the parts that fit into the single chat bubble.<br/>
+ * Line breaks are taken into the account: each line occupies at least {@link #LINE_LENGTH} chars.
+ */
+public final class ChatMessageSplitter {
+    private static final int MAX_LENGTH = 700;
+    private static final int LINE_LENGTH = 30;
+    private static final String ELLIPSIS = "...";
+
+    private ChatMessageSplitter() {
+    }
+
+    public static boolean shouldSplit(String text) {
+        return text != null && text.length() > getRealMaxLen(text);
+    }
+
+    /**
+     * Parts of the message with ellipsis at the joints
+     */
+    public static List<String> split(String text) {
+        List<String> parts = Helpers.splitStringBySize(text, getRealMaxLen(text));
+        List<String> result = new ArrayList<>(parts.size());
+
+        for (int i = 0; i < parts.size(); i++) {
+            String prefix = i > 0 ? ELLIPSIS : "";
+            String postfix = i < (parts.size() - 1) ? ELLIPSIS : "";
+            result.add(prefix + parts.get(i) + postfix);
+        }
+
+        return result;
+    }
+
+    public static int getRealMaxLen(String text) {
+        if (text == null) {
+            return -1;
+        }
+
+        String[] split = text.split("\n");
+
+        if (split.length == 1) {
+            return MAX_LENGTH;
+        }
+
+        List<String> splitNoLongLines = new ArrayList<>();
+        for (String line : split) {
+            while (line.length() > LINE_LENGTH) {
+                int breakPoint = line.lastIndexOf(' ', LINE_LENGTH);
+
+                if (breakPoint == -1) {
+                    breakPoint = LINE_LENGTH;
+                }
+
+                splitNoLongLines.add(line.substring(0, breakPoint));
+                line = line.substring(breakPoint).trim();
+            }
+            splitNoLongLines.add(line);
+        }
+        split = splitNoLongLines.toArray(new String[0]);
+
+        int realCount = 0;
+        int fakeCount = 0;
+
+        for (String part : split) {
+            realCount += part.length();
+            fakeCount += Math.max(part.length(), LINE_LENGTH);
+
+            if (fakeCount > MAX_LENGTH) {
+                return realCount;
+            }
+        }
+
+        return MAX_LENGTH;
+    }
+}
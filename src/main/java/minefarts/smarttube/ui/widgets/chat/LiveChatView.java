@@ -7,10 +7,8 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.FrameLayout;
 import androidx.annotation.Nullable;
-import com.bumptech.glide.Glide;
 import com.liskovsoft.smartyoutubetv2.common.app.models.playback.ui.ChatReceiver;
 import com.liskovsoft.smartyoutubetv2.common.prefs.PlayerTweaksData;
-import minefarts.smarttube.util.ViewUtil;
 import com.stfalcon.chatkit.messages.MessagesListAdapter;
 
 public class LiveChatView extends com.stfalcon.chatkit.messages.MessagesList {
@@ -59,11 +57,7 @@ public class LiveChatView extends com.stfalcon.chatkit.messages.MessagesList {
 
         if (mAdapter == null) {
             mAdapter = new MessagesListAdapter<>(SENDER_ID, (imageView, url, payload) ->
-                    Glide.with(getContext())
-                            .load(url)
-                            .apply(ViewUtil.glideOptions())
-                            .circleCrop() // resize image
-                            .into(imageView));
+                    ChatAvatarCache.instance(getContext()).load(imageView, url));
             mAdapter.setMaxItemsCount(20);
             setAdapter(mAdapter);
         }
@@ -0,0 +1,165 @@
+package minefarts.smarttube.ui.widgets.complexcardview;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import android.widget.ImageView;
+import android.widget.ImageView.ScaleType;
+
+import com.bumptech.glide.Glide;
+import com.liskovsoft.smartyoutubetv2.common.app.models.data.Video;
+import com.liskovsoft.smartyoutubetv2.common.utils.Utils;
+import minefarts.smarttube.ui.widgets.embedplayer.EmbedPlayerView;
+import minefarts.smarttube.util.ViewUtil;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Card preview (animated image or embed player).<br/>
+ * Heavyweight views are attached to the container only when the preview actually starts.
+ */
+public class CardPreview {
+    private static final long PLAYER_START_DELAY_MS = 2_000;
+    private final ViewGroup mContainer;
+    private final boolean mToggleContainer;
+    private ImageView mPreviewImage;
+    private EmbedPlayerView mPreviewPlayer;
+    private int mPreviewWidth;
+    private int mPreviewHeight;
+    private Runnable mCreateAndStartPlayer;
+    private WeakReference<Video> mVideo;
+    private boolean mIsPreviewUrlEnabled;
+    private boolean mMute;
+
+    /**
+     * @param toggleContainer show the container only while the preview is active
+     */
+    public CardPreview(ViewGroup container, boolean toggleContainer) {
+        mContainer = container;
+        mToggleContainer = toggleContainer;
+    }
+
+    public void setPreviewUrlEnabled(boolean enabled) {
+        mIsPreviewUrlEnabled = enabled;
+    }
+
+    public void setVideo(Video video) {
+        if (video != null) {
+            mVideo = new WeakReference<>(video);
+        }
+    }
+
+    public void setMute(boolean mute) {
+        mMute = mute;
+    }
+
+    public void setDimensions(int width, int height) {
+        mPreviewWidth = width;
+        mPreviewHeight = height;
+    }
+
+    public ImageView getPreviewImage() {
+        return mPreviewImage;
+    }
+
+    public void start() {
+        if (getVideo() == null) {
+            return;
+        }
+
+        if (mIsPreviewUrlEnabled) {
+            if (getVideo().previewUrl == null)
+                return;
+
+            if (mPreviewImage == null) {
+                mPreviewImage = new ImageView(getContext());
+                mPreviewImage.setScaleType(ScaleType.CENTER_CROP);
+                mPreviewImage.setAdjustViewBounds(true);
+                mContainer.addView(mPreviewImage, new FrameLayout.LayoutParams(mPreviewWidth, mPreviewHeight));
+                showContainer(true);
+            }
+
+            Glide.with(getContext().getApplicationContext()) // FIX: "You cannot start a load for a destroyed activity"
+                    .load(getVideo().previewUrl)
+                    .apply(ViewUtil.glideOptions())
+                    .into(mPreviewImage);
+        } else if (getVideo().videoId != null) {
+            if (mCreateAndStartPlayer == null) {
+                mCreateAndStartPlayer = this::createAndStartPlayer;
+            }
+
+            Utils.postDelayed(mCreateAndStartPlayer, PLAYER_START_DELAY_MS);
+        }
+    }
+
+    private void createAndStartPlayer() {
+        if (getVideo() == null) {
+            return;
+        }
+
+        if (mPreviewPlayer == null) {
+            mPreviewPlayer = new EmbedPlayerView(getContext());
+            mPreviewPlayer.setQuality(Math.min(mPreviewWidth, mPreviewHeight) < 300 ? EmbedPlayerView.QUALITY_LOW : EmbedPlayerView.QUALITY_NORMAL);
+            mPreviewPlayer.setUseController(false);
+            mPreviewPlayer.setMute(mMute);
+            mPreviewPlayer.setBackgroundColor(Color.BLACK);
+            mContainer.addView(mPreviewPlayer, new FrameLayout.LayoutParams(mPreviewWidth, mPreviewHeight));
+            showContainer(true);
+        }
+
+        mPreviewPlayer.openVideo(getVideo());
+    }
+
+    public void stop(boolean stopImmediately) {
+        if (getVideo() == null) {
+            return;
+        }
+
+        if (mIsPreviewUrlEnabled) {
+            if (getVideo().previewUrl == null)
+                return;
+
+            if (mPreviewImage != null) {
+                mContainer.removeView(mPreviewImage);
+                showContainer(false);
+                mPreviewImage.setImageDrawable(null);
+                Glide.with(getContext().getApplicationContext()).clear(mPreviewImage);
+                mPreviewImage = null;
+            }
+        } else if (getVideo().videoId != null) {
+            Utils.removeCallbacks(mCreateAndStartPlayer);
+
+            if (mPreviewPlayer != null) {
+                showContainer(false);
+                if (stopImmediately) {
+                    mPreviewPlayer.finish();
+                    mContainer.removeView(mPreviewPlayer);
+                } else {
+                    EmbedPlayerView epv = mPreviewPlayer;
+                    epv.setMute(true);
+                    Utils.postDelayed(() -> {
+                        epv.finish();
+                        mContainer.removeView(epv);
+                    }, 500);
+                }
+                mPreviewPlayer = null;
+            }
+        }
+    }
+
+    private void showContainer(boolean show) {
+        if (mToggleContainer) {
+            mContainer.setVisibility(show ? View.VISIBLE : View.GONE);
+        }
+    }
+
+    private Context getContext() {
+        return mContainer.getContext();
+    }
+
+    private Video getVideo() {
+        return mVideo != null ? mVideo.get() : null;
+    }
+}
@@ -1,41 +1,24 @@
 package minefarts.smarttube.ui.widgets.complexcardview;
 
 import android.content.Context;
-import android.graphics.Color;
 import android.util.AttributeSet;
 import android.view.View;
 import android.view.ViewGroup;
-import android.widget.FrameLayout;
 import android.widget.ImageView;
 import android.widget.ImageView.ScaleType;
 import android.widget.ProgressBar;
 import android.widget.RelativeLayout;
 import android.widget.TextView;
 
-import com.bumptech.glide.Glide;
 import com.liskovsoft.smartyoutubetv2.common.app.models.data.Video;
-import com.liskovsoft.smartyoutubetv2.common.utils.Utils;
 import minefarts.smarttube.R;
-import minefarts.smarttube.ui.widgets.embedplayer.EmbedPlayerView;
-import minefarts.smarttube.util.ViewUtil;
-
-import java.lang.ref.WeakReference;
 
 public class ComplexImageView extends RelativeLayout {
-    private static final long PLAYER_START_DELAY_MS = 2_000;
     private ImageView mMainImage;
-    private ImageView mPreviewImage;
-    private EmbedPlayerView mPreviewPlayer;
-    private FrameLayout mPreviewContainer;
     private ProgressBar mProgressBar;
     private TextView mBadgeText;
     private ViewGroup mProgressContainer;
-    private int mPreviewWidth;
-    private int mPreviewHeight;
-    private Runnable mCreateAndStartPlayer;
-    private WeakReference<Video> mVideo;
-    private boolean mIsPreviewUrlEnabled;
-    private boolean mMute;
+    private CardPreview mPreview;
 
     public ComplexImageView(Context context) {
         super(context);
@@ -58,7 +41,7 @@ public class ComplexImageView extends RelativeLayout {
         mBadgeText = findViewById(R.id.extra_text_badge);
         mProgressBar = findViewById(R.id.clip_progress);
         mProgressContainer = findViewById(R.id.clip_info);
-        mPreviewContainer = findViewById(R.id.preview_container);
+        mPreview = new CardPreview(findViewById(R.id.preview_container), true);
     }
 
     /**
@@ -128,65 +111,19 @@ public class ComplexImageView extends RelativeLayout {
     }
 
     public void setPreviewUrlEnabled(boolean enabled) {
-        mIsPreviewUrlEnabled = enabled;
+        mPreview.setPreviewUrlEnabled(enabled);
     }
 
     public void setPreview(Video video) {
-        if (video != null) {
-            mVideo = new WeakReference<>(video);
-        }
+        mPreview.setVideo(video);
     }
 
     public void setMute(boolean mute) {
-        mMute = mute;
+        mPreview.setMute(mute);
     }
 
     public void startPlayback() {
-        if (getVideo() == null) {
-            return;
-        }
-
-        if (mIsPreviewUrlEnabled) {
-            if (getVideo().previewUrl == null)
-                return;
-
-            if (mPreviewImage == null) {
-                mPreviewImage = new ImageView(getContext());
-                mPreviewImage.setScaleType(ScaleType.CENTER_CROP);
-                mPreviewImage.setAdjustViewBounds(true);
-                mPreviewContainer.addView(mPreviewImage, new FrameLayout.LayoutParams(mPreviewWidth, mPreviewHeight));
-                mPreviewContainer.setVisibility(View.VISIBLE);
-            }
-
-            Glide.with(getContext().getApplicationContext()) // FIX: "You cannot start a load for a destroyed activity"
-                    .load(getVideo().previewUrl)
-                    .apply(ViewUtil.glideOptions())
-                    .into(mPreviewImage);
-        } else if (getVideo().videoId != null) {
-            if (mCreateAndStartPlayer == null) {
-                mCreateAndStartPlayer = this::createAndStartPlayer;
-            }
-
-            Utils.postDelayed(mCreateAndStartPlayer, PLAYER_START_DELAY_MS);
-        }
-    }
-
-    private void createAndStartPlayer() {
-        if (getVideo() == null) {
-            return;
-        }
-
-        if (mPreviewPlayer == null) {
-            mPreviewPlayer = new EmbedPlayerView(getContext());
-            mPreviewPlayer.setQuality(Math.min(mPreviewWidth, mPreviewHeight) < 300 ? EmbedPlayerView.QUALITY_LOW : EmbedPlayerView.QUALITY_NORMAL);
-            mPreviewPlayer.setUseController(false);
-            mPreviewPlayer.setMute(mMute);
-            mPreviewPlayer.setBackgroundColor(Color.BLACK);
-            mPreviewContainer.addView(mPreviewPlayer, new FrameLayout.LayoutParams(mPreviewWidth, mPreviewHeight));
-            mPreviewContainer.setVisibility(View.VISIBLE);
-        }
-
-        mPreviewPlayer.openVideo(getVideo());
+        mPreview.start();
     }
 
     public void stopPlayback() {
@@ -194,51 +131,20 @@ public class ComplexImageView extends RelativeLayout {
     }
 
     public void stopPlayback(boolean stopImmediately) {
-        if (getVideo() == null) {
-            return;
-        }
-
-        if (mIsPreviewUrlEnabled) {
-            if (getVideo().previewUrl == null)
-                return;
-
-            if (mPreviewImage != null) {
-                mPreviewContainer.removeView(mPreviewImage);
-                mPreviewContainer.setVisibility(View.GONE);
-                mPreviewImage.setImageDrawable(null);
-                Glide.with(getContext().getApplicationContext()).clear(mPreviewImage);
-                mPreviewImage = null;
-            }
-        } else if (getVideo().videoId != null) {
-            Utils.removeCallbacks(mCreateAndStartPlayer);
-
-            if (mPreviewPlayer != null) {
-                mPreviewContainer.setVisibility(View.GONE);
-                if (stopImmediately) {
-                    mPreviewPlayer.finish();
-                    mPreviewContainer.removeView(mPreviewPlayer);
-                } else {
-                    EmbedPlayerView epv = mPreviewPlayer;
-                    epv.setMute(true);
-                    Utils.postDelayed(() -> {
-                        epv.finish();
-                        mPreviewContainer.removeView(epv);
-                    }, 500);
-                }
-                mPreviewPlayer = null;
-            }
-        }
+        mPreview.stop(stopImmediately);
     }
 
     public void setMainImageAdjustViewBounds(boolean adjustViewBounds) {
-        if (mPreviewImage != null) {
-            mPreviewImage.setAdjustViewBounds(adjustViewBounds);
+        ImageView previewImage = mPreview.getPreviewImage();
+        if (previewImage != null) {
+            previewImage.setAdjustViewBounds(adjustViewBounds);
         }
     }
 
     public void setMainImageScaleType(ScaleType scaleType) {
-        if (mPreviewImage != null) {
-            mPreviewImage.setScaleType(scaleType);
+        ImageView previewImage = mPreview.getPreviewImage();
+        if (previewImage != null) {
+            previewImage.setScaleType(scaleType);
         }
     }
 
@@ -254,15 +160,6 @@ public class ComplexImageView extends RelativeLayout {
     }
 
     private void setPreviewDimensions(int width, int height) {
-        mPreviewWidth = width;
-        mPreviewHeight = height;
-        //ViewGroup.LayoutParams lp = mPreviewImage.getLayoutParams();
-        //lp.width = width;
-        //lp.height = height;
-        //mPreviewImage.setLayoutParams(lp);
-    }
-
-    private Video getVideo() {
-        return mVideo != null ? mVideo.get() : null;
+        mPreview.setDimensions(width, height);
     }
 }
@@ -0,0 +1,749 @@
+package minefarts.smarttube.ui.widgets.complexcardview;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Paint.FontMetricsInt;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+import android.graphics.drawable.Animatable;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.LayerDrawable;
+import android.os.Build.VERSION;
+import android.os.SystemClock;
+import android.text.Layout;
+import android.text.Layout.Alignment;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.text.TextUtils.TruncateAt;
+import android.util.AttributeSet;
+import android.widget.FrameLayout;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.view.ViewCompat;
+import com.bumptech.glide.request.target.CustomViewTarget;
+import com.bumptech.glide.request.transition.Transition;
+import com.liskovsoft.smartyoutubetv2.common.app.models.data.Video;
+import minefarts.smarttube.R;
+import minefarts.smarttube.ui.widgets.marqueetextviewcompat.MarqueeAnimator;
+
+/**
+ * Video card that renders thumbnail, badge, progress and both text lines inside a single {@link #onDraw}.<br/>
+ * No inflation and no child views. Text layouts are cached until text or width changes.<br/>
+ * Preview views (image or player) are attached by the {@link CardPreview} only when the preview starts.
+ */
+public class FlatVideoCardView extends FrameLayout implements MarqueeAnimator.Client {
+    private static final long MARQUEE_DELAY_MS = 1_000;
+    private static final float MARQUEE_DP_PER_SEC = 30;
+    private static final float MARQUEE_GAP_DP = 30;
+    private static final long THUMBNAIL_UPGRADE_DELAY_MS = 500;
+    private final Rect mImageRect = new Rect();
+    private final Rect mBadgeRect = new Rect();
+    private final Paint mInfoPaint = new Paint();
+    private final Paint mBadgePaint = new Paint();
+    private final TextPaint mBadgeTextPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final TextLine mTitle;
+    private final TextLine mContent;
+    private final CardPreview mPreview;
+    private final ThumbnailTarget mThumbnailTarget;
+    private final Runnable mStartMarquee = this::startMarquee;
+    private final Runnable mRunThumbnailUpgrade = this::runThumbnailUpgrade;
+    private final int mInfoPadding;
+    private final int mTextMargin;
+    private final int mBadgeMargin;
+    private final int mBadgePadding;
+    private final int mProgressHeight;
+    private final float mDensity;
+    private final Drawable mProgressDrawable;
+    private final Drawable mProgressLevelDrawable;
+    private Drawable mThumbnail;
+    private String mBadgeText;
+    private CharSequence mBadgeDisplayText;
+    private int mProgress;
+    private int mImageWidth;
+    private int mImageHeight;
+    private int mDefaultBackgroundColor;
+    private int mSelectedBackgroundColor;
+    private int mDefaultTextColor;
+    private int mSelectedTextColor;
+    private boolean mIsBadgeEnabled = true;
+    private boolean mIsTextAutoScrollEnabled;
+    private float mTextScrollSpeed = 1.0f;
+    private long mMarqueeStartMs = -1;
+    private String mPoolKey;
+    private Runnable mThumbnailUpgrade;
+
+    public FlatVideoCardView(Context context) {
+        this(context, null);
+    }
+
+    public FlatVideoCardView(Context context, AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public FlatVideoCardView(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+
+        setWillNotDraw(false);
+
+        Resources res = context.getResources();
+        mDensity = res.getDisplayMetrics().density;
+        mInfoPadding = res.getDimensionPixelSize(R.dimen.lb_basic_card_info_padding);
+        mTextMargin = res.getDimensionPixelSize(R.dimen.lb_basic_card_info_text_margin);
+        mBadgeMargin = res.getDimensionPixelSize(R.dimen.lb_basic_card_info_badge_margin);
+        mBadgePadding = res.getDimensionPixelSize(R.dimen.lb_details_description_title_padding_adjust_bottom);
+        mProgressHeight = mBadgeMargin; // see text_badge_image_view.xml
+
+        Typeface typeface = Typeface.create("sans-serif-condensed", Typeface.NORMAL);
+        mTitle = new TextLine(createTextPaint(res.getDimension(R.dimen.lb_basic_card_title_text_size), typeface));
+        mContent = new TextLine(createTextPaint(res.getDimension(R.dimen.lb_basic_card_content_text_size), typeface));
+        mBadgeTextPaint.setTextSize(res.getDimension(R.dimen.card_badge_text_size));
+        mBadgeTextPaint.setTypeface(typeface);
+        mBadgeTextPaint.setColor(0xFFFFFFFF);
+        mBadgePaint.setColor(0xFF000000);
+
+        mProgressDrawable = obtainProgressDrawable(context);
+        mProgressLevelDrawable = findProgressLayer(mProgressDrawable);
+        mPreview = new CardPreview(this, false);
+        mThumbnailTarget = new ThumbnailTarget(this);
+    }
+
+    public CustomViewTarget<FlatVideoCardView, Drawable> getThumbnailTarget() {
+        return mThumbnailTarget;
+    }
+
+    public void setThumbnail(Drawable thumbnail) {
+        if (mThumbnail == thumbnail) {
+            return;
+        }
+
+        if (mThumbnail != null) {
+            mThumbnail.setCallback(null);
+            if (mThumbnail instanceof Animatable) {
+                ((Animatable) mThumbnail).stop();
+            }
+        }
+
+        mThumbnail = thumbnail;
+
+        if (mThumbnail != null) {
+            mThumbnail.setCallback(this);
+            updateThumbnailBounds();
+            if (mThumbnail instanceof Animatable) { // webp, gif
+                ((Animatable) mThumbnail).start();
+            }
+        }
+
+        invalidate();
+    }
+
+    /**
+     * Runs the upgrade (e.g. higher resolution thumbnail) once the card stays on screen for a while or gets focus.<br/>
+     * Cards that scroll away before that don't run the upgrade at all. Pass null to cancel.
+     */
+    public void setThumbnailUpgrade(Runnable upgrade) {
+        removeCallbacks(mRunThumbnailUpgrade);
+        mThumbnailUpgrade = upgrade;
+
+        if (upgrade != null && ViewCompat.isAttachedToWindow(this)) {
+            postDelayed(mRunThumbnailUpgrade, THUMBNAIL_UPGRADE_DELAY_MS);
+        }
+    }
+
+    public void setThumbnailDimensions(int width, int height) {
+        if (mImageWidth == width && mImageHeight == height) {
+            return;
+        }
+
+        mImageWidth = width;
+        mImageHeight = height;
+        mImageRect.set(0, 0, width, height);
+        mTitle.setWidth(width - mInfoPadding * 2);
+        mContent.setWidth(width - mInfoPadding * 2);
+        mPreview.setDimensions(width, height);
+        updateThumbnailBounds();
+        updateBadge();
+        requestLayout();
+    }
+
+    public void setCardColors(int defaultBackgroundColor, int defaultTextColor, int selectedBackgroundColor, int selectedTextColor) {
+        mDefaultBackgroundColor = defaultBackgroundColor;
+        mDefaultTextColor = defaultTextColor;
+        mSelectedBackgroundColor = selectedBackgroundColor;
+        mSelectedTextColor = selectedTextColor;
+        invalidate();
+    }
+
+    public void setTitleText(CharSequence text) {
+        if (mTitle.setText(text)) {
+            updateContentDescription();
+            invalidate();
+        }
+    }
+
+    public void setContentText(CharSequence text) {
+        if (mContent.setText(text)) {
+            updateContentDescription();
+            invalidate();
+        }
+    }
+
+    public void setTitleLinesNum(int lines) {
+        if (lines > 0 && mTitle.setMaxLines(lines)) {
+            requestLayout();
+        }
+    }
+
+    public void setContentLinesNum(int lines) {
+        if (lines > 0 && mContent.setMaxLines(lines)) {
+            requestLayout();
+        }
+    }
+
+    public void enableTitle(boolean enabled) {
+        if (mTitle.setEnabled(enabled)) {
+            requestLayout();
+        }
+    }
+
+    public void enableContent(boolean enabled) {
+        if (mContent.setEnabled(enabled)) {
+            requestLayout();
+        }
+    }
+
+    public void enableBadge(boolean enabled) {
+        mIsBadgeEnabled = enabled;
+    }
+
+    public void enableTextAutoScroll(boolean enabled) {
+        mIsTextAutoScrollEnabled = enabled;
+    }
+
+    public void setTextScrollSpeed(float speed) {
+        mTextScrollSpeed = speed;
+    }
+
+    /**
+     * Sets the badge text.
+     */
+    public void setBadgeText(String text) {
+        if (!mIsBadgeEnabled || TextUtils.equals(mBadgeText, text)) {
+            return;
+        }
+
+        mBadgeText = text;
+        updateBadge();
+        invalidate();
+    }
+
+    public void setBadgeColor(int color) {
+        if (mBadgePaint.getColor() != color) {
+            mBadgePaint.setColor(color);
+            invalidate();
+        }
+    }
+
+    /**
+     * Sets the progress.
+     */
+    public void setProgress(int percent) {
+        if (mProgress == percent) {
+            return;
+        }
+
+        mProgress = percent;
+
+        if (mProgressLevelDrawable != null) {
+            mProgressLevelDrawable.setLevel(percent * 100); // max level is 10000
+        }
+
+        invalidate();
+    }
+
+    public void setPreview(Video video) {
+        mPreview.setVideo(video);
+    }
+
+    public void setMute(boolean mute) {
+        mPreview.setMute(mute);
+    }
+
+    /**
+     * Cards with the same key are interchangeable (see CardViewPool)
+     */
+    public void setPoolKey(String key) {
+        mPoolKey = key;
+    }
+
+    public String getPoolKey() {
+        return mPoolKey;
+    }
+
+    /**
+     * Drops the state left by the previous owner before the card goes to the pool
+     */
+    public void reset() {
+        setThumbnailUpgrade(null);
+        setSelected(false);
+        mPreview.stop(true);
+        setThumbnail(null);
+        setOnFocusChangeListener(null);
+        setOnClickListener(null);
+        setOnLongClickListener(null);
+        setScaleX(1);
+        setScaleY(1);
+        setAlpha(1);
+        setTranslationX(0);
+        setTranslationY(0);
+    }
+
+    @Override
+    public void setSelected(boolean selected) {
+        super.setSelected(selected);
+
+        if (mIsTextAutoScrollEnabled) {
+            enableTextAnimation(selected);
+        }
+
+        if (selected) {
+            runThumbnailUpgrade();
+            mPreview.start();
+        } else {
+            mPreview.stop(false);
+        }
+
+        invalidate();
+    }
+
+    @Override
+    public boolean performClick() {
+        mPreview.stop(true);
+
+        return super.performClick();
+    }
+
+    @Override
+    public boolean performLongClick() {
+        mPreview.stop(true);
+
+        return super.performLongClick();
+    }
+
+    @Override
+    public void onWindowFocusChanged(boolean hasWindowFocus) {
+        super.onWindowFocusChanged(hasWindowFocus);
+
+        if (!hasWindowFocus) {
+            mPreview.stop(false);
+        }
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+
+        if (mThumbnailUpgrade != null) {
+            postDelayed(mRunThumbnailUpgrade, THUMBNAIL_UPGRADE_DELAY_MS);
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+
+        removeCallbacks(mRunThumbnailUpgrade);
+        mPreview.stop(false);
+        enableTextAnimation(false);
+    }
+
+    @Override
+    protected boolean verifyDrawable(@NonNull Drawable who) {
+        return who == mThumbnail || super.verifyDrawable(who);
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        if (mImageWidth <= 0) {
+            super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+            return;
+        }
+
+        int width = mImageWidth;
+        int height = mImageHeight + getInfoHeight();
+
+        if (getChildCount() > 0) { // preview is active
+            measureChildren(MeasureSpec.makeMeasureSpec(width, MeasureSpec.EXACTLY), MeasureSpec.makeMeasureSpec(height, MeasureSpec.EXACTLY));
+        }
+
+        setMeasuredDimension(width, height);
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+
+        if (mThumbnail != null) {
+            canvas.save();
+            canvas.clipRect(mImageRect);
+            mThumbnail.draw(canvas);
+            canvas.restore();
+        }
+
+        int infoHeight = getInfoHeight();
+
+        if (infoHeight == 0) {
+            return;
+        }
+
+        boolean selected = isSelected();
+        mInfoPaint.setColor(selected ? mSelectedBackgroundColor : mDefaultBackgroundColor);
+        canvas.drawRect(0, mImageHeight, getWidth(), mImageHeight + infoHeight, mInfoPaint);
+
+        int textColor = selected ? mSelectedTextColor : mDefaultTextColor;
+        int top = mImageHeight + mInfoPadding;
+        boolean scroll = selected && mMarqueeStartMs != -1;
+
+        float gap = MARQUEE_GAP_DP * mDensity;
+
+        if (mTitle.isEnabled()) {
+            top += mTitle.draw(canvas, mInfoPadding, top, textColor, scroll ? getMarqueeOffset(mTitle, gap) : -1, gap) + mTextMargin;
+        }
+
+        if (mContent.isEnabled()) {
+            mContent.draw(canvas, mInfoPadding, top, textColor, scroll ? getMarqueeOffset(mContent, gap) : -1, gap);
+        }
+    }
+
+    /**
+     * Progress and badge should stay above the preview
+     */
+    @Override
+    protected void dispatchDraw(Canvas canvas) {
+        super.dispatchDraw(canvas);
+
+        if (mProgress > 0 && mProgressDrawable != null) {
+            mProgressDrawable.setBounds(0, mImageHeight - mProgressHeight, mImageWidth, mImageHeight);
+            mProgressDrawable.draw(canvas);
+        }
+
+        if (mIsBadgeEnabled && mBadgeDisplayText != null) {
+            canvas.drawRect(mBadgeRect, mBadgePaint);
+            FontMetricsInt fm = mBadgeTextPaint.getFontMetricsInt();
+            canvas.drawText(mBadgeDisplayText, 0, mBadgeDisplayText.length(), mBadgeRect.left + mBadgePadding, mBadgeRect.top - fm.ascent, mBadgeTextPaint);
+        }
+    }
+
+    private int getInfoHeight() {
+        int textHeight = 0;
+
+        if (mTitle.isEnabled()) {
+            textHeight += mTitle.getHeight();
+        }
+
+        if (mContent.isEnabled()) {
+            textHeight += (textHeight > 0 ? mTextMargin : 0) + mContent.getHeight();
+        }
+
+        return textHeight > 0 ? textHeight + mInfoPadding * 2 : 0;
+    }
+
+    private void updateThumbnailBounds() {
+        if (mThumbnail == null || mImageWidth <= 0) {
+            return;
+        }
+
+        int drawableWidth = mThumbnail.getIntrinsicWidth();
+        int drawableHeight = mThumbnail.getIntrinsicHeight();
+
+        if (drawableWidth <= 0 || drawableHeight <= 0) {
+            mThumbnail.setBounds(mImageRect);
+            return;
+        }
+
+        // Center crop
+        float scale = Math.max((float) mImageWidth / drawableWidth, (float) mImageHeight / drawableHeight);
+        int width = Math.round(drawableWidth * scale);
+        int height = Math.round(drawableHeight * scale);
+        int left = (mImageWidth - width) / 2;
+        int top = (mImageHeight - height) / 2;
+        mThumbnail.setBounds(left, top, left + width, top + height);
+    }
+
+    private void updateBadge() {
+        if (mBadgeText == null || mImageWidth <= 0) {
+            mBadgeDisplayText = null;
+            return;
+        }
+
+        int maxTextWidth = mImageWidth - mBadgeMargin - mBadgePadding * 2;
+        mBadgeDisplayText = TextUtils.ellipsize(mBadgeText, mBadgeTextPaint, Math.max(maxTextWidth, 0), TruncateAt.END);
+
+        FontMetricsInt fm = mBadgeTextPaint.getFontMetricsInt();
+        int width = (int) Math.ceil(mBadgeTextPaint.measureText(mBadgeDisplayText, 0, mBadgeDisplayText.length())) + mBadgePadding * 2;
+        int right = mImageWidth - mBadgeMargin;
+        int bottom = mImageHeight - mProgressHeight;
+        mBadgeRect.set(right - width, bottom - (fm.descent - fm.ascent), right, bottom);
+    }
+
+    private void updateContentDescription() {
+        setContentDescription(TextUtils.isEmpty(mContent.getText()) ? mTitle.getText() : TextUtils.concat(mTitle.getText(), ", ", mContent.getText()));
+    }
+
+    private void enableTextAnimation(boolean enable) {
+        removeCallbacks(mStartMarquee);
+        MarqueeAnimator.instance().stop(this);
+        mMarqueeStartMs = -1;
+
+        if (enable && (mTitle.isTruncated() || mContent.isTruncated())) {
+            postDelayed(mStartMarquee, MARQUEE_DELAY_MS);
+        }
+    }
+
+    private void runThumbnailUpgrade() {
+        removeCallbacks(mRunThumbnailUpgrade);
+        Runnable upgrade = mThumbnailUpgrade;
+        mThumbnailUpgrade = null;
+
+        if (upgrade != null) {
+            upgrade.run();
+        }
+    }
+
+    private void startMarquee() {
+        mMarqueeStartMs = SystemClock.uptimeMillis();
+        invalidate();
+
+        if (mTitle.canScroll() || mContent.canScroll()) {
+            MarqueeAnimator.instance().start(this);
+        }
+    }
+
+    @Override
+    public boolean onMarqueeFrame(long frameTimeNanos) {
+        invalidate();
+
+        return isSelected() && mMarqueeStartMs != -1;
+    }
+
+    private float getMarqueeOffset(TextLine line, float gap) {
+        float distance = (SystemClock.uptimeMillis() - mMarqueeStartMs) * MARQUEE_DP_PER_SEC * mTextScrollSpeed * mDensity / 1_000;
+        return distance % (line.getTextWidth() + gap);
+    }
+
+    private static TextPaint createTextPaint(float textSize, Typeface typeface) {
+        TextPaint paint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+        paint.setTextSize(textSize);
+        paint.setTypeface(typeface);
+        return paint;
+    }
+
+    /**
+     * Same as ProgressBar: only the progress layer is clipped by the level
+     */
+    private static Drawable findProgressLayer(Drawable progressDrawable) {
+        Drawable progress = progressDrawable instanceof LayerDrawable ?
+                ((LayerDrawable) progressDrawable).findDrawableByLayerId(android.R.id.progress) : null;
+
+        return progress != null ? progress : progressDrawable;
+    }
+
+    private static Drawable obtainProgressDrawable(Context context) {
+        TypedArray array = context.obtainStyledAttributes(null, new int[] {android.R.attr.progressDrawable}, R.attr.cardProgressStyle, 0);
+        Drawable drawable = array.getDrawable(0);
+        array.recycle();
+
+        return drawable != null ? drawable.mutate() : null;
+    }
+
+    /**
+     * Cached text layout and width of the title or content.<br/>
+     * Both are dropped when the text or the paint metrics (size, typeface) change. Color doesn't affect them.
+     */
+    private static final class TextLine {
+        private final TextPaint mPaint;
+        private CharSequence mText;
+        private Layout mLayout;
+        private float mTextWidth = -1;
+        private float mMeasuredTextSize;
+        private Typeface mMeasuredTypeface;
+        private int mWidth;
+        private int mMaxLines = 1;
+        private boolean mIsEnabled = true;
+
+        TextLine(TextPaint paint) {
+            mPaint = paint;
+        }
+
+        CharSequence getText() {
+            return mText;
+        }
+
+        boolean setText(CharSequence text) {
+            if (TextUtils.equals(mText, text)) {
+                return false;
+            }
+
+            mText = text;
+            mLayout = null;
+            mTextWidth = -1;
+            return true;
+        }
+
+        boolean setMaxLines(int maxLines) {
+            if (mMaxLines == maxLines) {
+                return false;
+            }
+
+            mMaxLines = maxLines;
+            mLayout = null;
+            return true;
+        }
+
+        void setWidth(int width) {
+            if (mWidth != width) {
+                mWidth = width;
+                mLayout = null;
+            }
+        }
+
+        boolean isEnabled() {
+            return mIsEnabled;
+        }
+
+        boolean setEnabled(boolean enabled) {
+            if (mIsEnabled == enabled) {
+                return false;
+            }
+
+            mIsEnabled = enabled;
+            return true;
+        }
+
+        /**
+         * Fixed height, same as TextView.setLines()
+         */
+        int getHeight() {
+            FontMetricsInt fm = mPaint.getFontMetricsInt();
+            return (fm.descent - fm.ascent) * mMaxLines;
+        }
+
+        float getTextWidth() {
+            if (mText == null) {
+                return 0;
+            }
+
+            checkPaint();
+
+            if (mTextWidth < 0) {
+                mTextWidth = mPaint.measureText(mText, 0, mText.length());
+            }
+
+            return mTextWidth;
+        }
+
+        boolean isTruncated() {
+            return mIsEnabled && mText != null && mWidth > 0 && getTextWidth() > mWidth;
+        }
+
+        /**
+         * Marquee works for single line texts only (same as TextView)
+         */
+        boolean canScroll() {
+            return mMaxLines == 1 && isTruncated();
+        }
+
+        /**
+         * @param scrollOffset marquee offset or -1
+         * @param scrollGap space between the end of the text and its next copy
+         * @return drawn height
+         */
+        int draw(Canvas canvas, int left, int top, int color, float scrollOffset, float scrollGap) {
+            int height = getHeight();
+
+            if (mText == null || mWidth <= 0) {
+                return height;
+            }
+
+            mPaint.setColor(color);
+            canvas.save();
+            canvas.clipRect(left, top, left + mWidth, top + height);
+
+            if (scrollOffset >= 0 && canScroll()) {
+                float baseline = top - mPaint.getFontMetricsInt().ascent;
+                float x = left - scrollOffset;
+                canvas.drawText(mText, 0, mText.length(), x, baseline, mPaint);
+                canvas.drawText(mText, 0, mText.length(), x + getTextWidth() + scrollGap, baseline, mPaint);
+            } else {
+                canvas.translate(left, top);
+                getLayout().draw(canvas);
+            }
+
+            canvas.restore();
+
+            return height;
+        }
+
+        private Layout getLayout() {
+            checkPaint();
+
+            if (mLayout == null) {
+                mLayout = createLayout(mText, mPaint, mWidth, mMaxLines);
+            }
+
+            return mLayout;
+        }
+
+        private void checkPaint() {
+            if (mMeasuredTextSize != mPaint.getTextSize() || mMeasuredTypeface != mPaint.getTypeface()) {
+                mMeasuredTextSize = mPaint.getTextSize();
+                mMeasuredTypeface = mPaint.getTypeface();
+                mLayout = null;
+                mTextWidth = -1;
+            }
+        }
+
+        private static Layout createLayout(CharSequence text, TextPaint paint, int width, int maxLines) {
+            if (VERSION.SDK_INT >= 23) {
+                return StaticLayout.Builder.obtain(text, 0, text.length(), paint, width)
+                        .setMaxLines(maxLines)
+                        .setEllipsize(TruncateAt.END)
+                        .setIncludePad(false)
+                        .build();
+            }
+
+            // Older devices: ellipsize single line, multiline is clipped by the height
+            CharSequence source = maxLines == 1 ? TextUtils.ellipsize(text, paint, width, TruncateAt.END) : text;
+            return new StaticLayout(source, paint, width, Alignment.ALIGN_NORMAL, 1.0f, 0, false);
+        }
+    }
+
+    private static final class ThumbnailTarget extends CustomViewTarget<FlatVideoCardView, Drawable> {
+        ThumbnailTarget(@NonNull FlatVideoCardView view) {
+            super(view);
+        }
+
+        @Override
+        protected void onResourceLoading(@Nullable Drawable placeholder) {
+            view.setThumbnail(placeholder);
+        }
+
+        @Override
+        public void onResourceReady(@NonNull Drawable resource, @Nullable Transition<? super Drawable> transition) {
+            view.setThumbnail(resource);
+        }
+
+        @Override
+        public void onLoadFailed(@Nullable Drawable errorDrawable) {
+            view.setThumbnail(errorDrawable);
+        }
+
+        @Override
+        protected void onResourceCleared(@Nullable Drawable placeholder) {
+            view.setThumbnail(placeholder);
+        }
+    }
+}
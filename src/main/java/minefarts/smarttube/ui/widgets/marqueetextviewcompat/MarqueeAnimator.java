@@ -0,0 +1,79 @@
+package minefarts.smarttube.ui.widgets.marqueetextviewcompat;
+
+import android.view.Choreographer;
+import android.view.Choreographer.FrameCallback;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single frame callback for all scrolling texts (titles, focused cards).<br/>
+ * Registered only while at least one text is scrolling. Main thread only.
+ */
+public final class MarqueeAnimator implements FrameCallback {
+    private static MarqueeAnimator sInstance;
+    private final List<Client> mClients = new ArrayList<>();
+    private final List<Client> mFrameClients = new ArrayList<>();
+    private boolean mIsRunning;
+    private boolean mIsInFrame;
+
+    public interface Client {
+        /**
+         * Advance the scroll and invalidate
+         * @return false to stop receiving frames
+         */
+        boolean onMarqueeFrame(long frameTimeNanos);
+    }
+
+    private MarqueeAnimator() {
+    }
+
+    public static MarqueeAnimator instance() {
+        if (sInstance == null) {
+            sInstance = new MarqueeAnimator();
+        }
+
+        return sInstance;
+    }
+
+    public void start(Client client) {
+        if (!mClients.contains(client)) {
+            mClients.add(client);
+        }
+
+        if (!mIsRunning && !mIsInFrame) { // inside the frame the callback is reposted at the end
+            mIsRunning = true;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+
+    public void stop(Client client) {
+        mClients.remove(client);
+
+        if (mClients.isEmpty() && mIsRunning && !mIsInFrame) {
+            mIsRunning = false;
+            Choreographer.getInstance().removeFrameCallback(this);
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        // Copy. Clients may stop themselves or the others.
+        mFrameClients.addAll(mClients);
+        mIsInFrame = true;
+
+        for (Client client : mFrameClients) {
+            if (mClients.contains(client) && !client.onMarqueeFrame(frameTimeNanos)) {
+                mClients.remove(client);
+            }
+        }
+
+        mFrameClients.clear();
+        mIsInFrame = false;
+        mIsRunning = !mClients.isEmpty();
+
+        if (mIsRunning) {
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+}
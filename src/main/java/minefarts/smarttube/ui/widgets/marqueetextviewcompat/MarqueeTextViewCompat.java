@@ -3,16 +3,15 @@ package minefarts.smarttube.ui.widgets.marqueetextviewcompat;
 import android.annotation.SuppressLint;
 import android.content.Context;
 import android.content.res.TypedArray;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
+import android.graphics.Paint;
 import android.os.Build;
 import android.text.Layout;
 import android.text.TextUtils.TruncateAt;
 import android.util.AttributeSet;
-import android.view.Choreographer;
-import android.view.Choreographer.FrameCallback;
 import android.view.View;
 import android.view.ViewGroup;
-import android.view.WindowManager;
 import android.widget.TextView;
 
 import androidx.annotation.Nullable;
@@ -22,7 +21,7 @@ import minefarts.smarttube.R;
 import minefarts.smarttube.util.ViewUtil;
 
 @SuppressLint("AppCompatCustomView")
-public class MarqueeTextViewCompat extends TextView {
+public class MarqueeTextViewCompat extends TextView implements MarqueeAnimator.Client {
     /**
      * Unit: PX
      */
@@ -35,7 +34,10 @@ public class MarqueeTextViewCompat extends TextView {
     private static final float DEFAULT_SPEED = ORIGINAL_SPEED * 2;
     private static final float BASE_FPS = 60f;
 
-    private int mFps = 60;
+    /**
+     * Longer texts are drawn directly. Bigger bitmaps may exceed the max texture size.
+     */
+    private static final int MAX_LAYER_WIDTH = 4096;
 
     private boolean mIsTextFullyVisible = true;
 
@@ -47,20 +49,19 @@ public class MarqueeTextViewCompat extends TextView {
      */
     private TextView mTextView;
 
-    private final FrameCallback mFrameCallback = new FrameCallback() {
-        @Override
-        public void doFrame(long frameTimeNanos) {
-            if (getLayoutDirection() == LAYOUT_DIRECTION_RTL) {
-                mLeftX += BASE_FPS / mFps * mSpeed;
-            } else {
-                mLeftX -= BASE_FPS / mFps * mSpeed;
-            }
+    /**
+     * Text rendered once per change, so scrolling frames only move the bitmap
+     */
+    private Bitmap mTextLayer;
 
-            //invalidate();
-            postInvalidateOnAnimation();
-            Choreographer.getInstance().postFrameCallback(this);
-        }
-    };
+    /**
+     * Filtering keeps sub pixel offsets smooth
+     */
+    private final Paint mTextLayerPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+
+    private boolean mIsScrolling;
+
+    private long mLastFrameNanos;
 
     private float mLeftX = 0f;
 
@@ -132,6 +133,23 @@ public class MarqueeTextViewCompat extends TextView {
         ViewUtil.fixApi28BrokenGridNavigation(this);
     }
 
+    @Override
+    public boolean onMarqueeFrame(long frameTimeNanos) {
+        // Same distance per second on any refresh rate and on dropped frames
+        float frames = mLastFrameNanos != 0 ? (frameTimeNanos - mLastFrameNanos) * BASE_FPS / 1_000_000_000f : 0;
+        mLastFrameNanos = frameTimeNanos;
+
+        if (getLayoutDirection() == LAYOUT_DIRECTION_RTL) {
+            mLeftX += frames * mSpeed;
+        } else {
+            mLeftX -= frames * mSpeed;
+        }
+
+        invalidate();
+
+        return true;
+    }
+
     @Override
     public void setText(CharSequence text, BufferType type) {
         super.setText(text, type);
@@ -139,6 +157,7 @@ public class MarqueeTextViewCompat extends TextView {
         // setText will be called first, and mTextView is not initialized yet
         if (mTextView != null) {
             mTextView.setText(text);
+            invalidateTextLayer();
             if (!isLayoutRequested()) {
                 requestLayout();
             }
@@ -152,6 +171,7 @@ public class MarqueeTextViewCompat extends TextView {
         // setTextSize will be called first, and mTextView is not initialized yet
         if (mTextView != null) {
             mTextView.setTextSize(size);
+            invalidateTextLayer();
             if (!isLayoutRequested()) {
                 requestLayout();
             }
@@ -174,7 +194,7 @@ public class MarqueeTextViewCompat extends TextView {
 
             mLaidOut = true;
 
-            updateFps();
+            invalidateTextLayer();
             updateTextFullyVisible();
             updateMarquee();
         }
@@ -198,18 +218,12 @@ public class MarqueeTextViewCompat extends TextView {
             mLeftX += (mTextView.getMeasuredWidth() + mSpace);
         }
 
-        int save = canvas.save();
-        canvas.translate(mLeftX, 0f);
-        mTextView.draw(canvas);
-        canvas.restoreToCount(save);
+        drawText(canvas, mLeftX);
 
         // When text is fully displayed, draw second copy on the right side of visible area
         // to create continuous scrolling effect
         if (mLeftX + (mTextView.getMeasuredWidth() - getWidth()) < 0) {
-            int save2 = canvas.save();
-            canvas.translate(mTextView.getMeasuredWidth() + mLeftX + mSpace, 0f);
-            mTextView.draw(canvas);
-            canvas.restoreToCount(save2);
+            drawText(canvas, mTextView.getMeasuredWidth() + mLeftX + mSpace);
         }
     }
 
@@ -219,32 +233,53 @@ public class MarqueeTextViewCompat extends TextView {
             mLeftX -= (mTextView.getMeasuredWidth() + mSpace);
         }
 
-        int save = canvas.save();
-        canvas.translate(-(mTextView.getMeasuredWidth() - getWidth()) + mLeftX, 0f);
-        mTextView.draw(canvas);
-        canvas.restoreToCount(save);
+        drawText(canvas, -(mTextView.getMeasuredWidth() - getWidth()) + mLeftX);
 
         // When text is fully displayed, draw second copy on the left side of visible area
         // to create continuous scrolling effect
         if (mLeftX - (mTextView.getMeasuredWidth() - getWidth()) > 0) {
-            int save2 = canvas.save();
-            canvas.translate(
-                    -mTextView.getMeasuredWidth() - mSpace + mLeftX - (mTextView.getMeasuredWidth() - getWidth()),
-                    0f
-            );
-            mTextView.draw(canvas);
-            canvas.restoreToCount(save2);
+            drawText(canvas, -mTextView.getMeasuredWidth() - mSpace + mLeftX - (mTextView.getMeasuredWidth() - getWidth()));
         }
     }
 
-    private void updateFps() {
-        if (Build.VERSION.SDK_INT >= 30) {
-            mFps = (int) getContext().getDisplay().getRefreshRate();
-        } else {
-            WindowManager windowManager =
-                    (WindowManager) getContext().getSystemService(Context.WINDOW_SERVICE);
-            mFps = (int) windowManager.getDefaultDisplay().getRefreshRate();
+    private void drawText(Canvas canvas, float dx) {
+        Bitmap layer = getTextLayer();
+
+        if (layer != null) {
+            canvas.drawBitmap(layer, dx, 0f, mTextLayerPaint);
+            return;
         }
+
+        int save = canvas.save();
+        canvas.translate(dx, 0f);
+        mTextView.draw(canvas);
+        canvas.restoreToCount(save);
+    }
+
+    private Bitmap getTextLayer() {
+        int width = mTextView.getWidth();
+        int height = mTextView.getHeight();
+
+        if (width <= 0 || height <= 0 || width > MAX_LAYER_WIDTH) {
+            return null;
+        }
+
+        if (mTextLayer == null) {
+            try {
+                mTextLayer = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            } catch (OutOfMemoryError e) {
+                return null;
+            }
+
+            mTextView.draw(new Canvas(mTextLayer));
+        }
+
+        return mTextLayer;
+    }
+
+    private void invalidateTextLayer() {
+        // Don't recycle. The bitmap could be still referenced by the last frame.
+        mTextLayer = null;
     }
 
     private void updateTextFullyVisible() {
@@ -271,6 +306,7 @@ public class MarqueeTextViewCompat extends TextView {
 
         mAttached = false;
         stopScroll();
+        invalidateTextLayer();
     }
     
     @Override
@@ -278,6 +314,7 @@ public class MarqueeTextViewCompat extends TextView {
         super.setBackgroundColor(color);
         if (mTextView != null) {
             mTextView.setBackgroundColor(color);
+            invalidateTextLayer();
         }
     }
 
@@ -286,6 +323,7 @@ public class MarqueeTextViewCompat extends TextView {
         super.setTextColor(color);
         if (mTextView != null) {
             mTextView.setTextColor(color);
+            invalidateTextLayer();
         }
     }
 
@@ -374,20 +412,18 @@ public class MarqueeTextViewCompat extends TextView {
     }
 
     private void stopScroll() {
-        if (mFrameCallback != null) {
-            Choreographer.getInstance().removeFrameCallback(mFrameCallback);
-        }
+        mIsScrolling = false;
+        MarqueeAnimator.instance().stop(this);
     }
 
     private void startScroll() {
-        if (mFrameCallback != null) {
-            Choreographer.getInstance().postFrameCallback(mFrameCallback);
+        if (mIsScrolling) {
+            return;
         }
-    }
 
-    private void restartScroll() {
-        stopScroll();
-        startScroll();
+        mIsScrolling = true;
+        mLastFrameNanos = 0;
+        MarqueeAnimator.instance().start(this);
     }
 
     // Convert px value to sp value
@@ -411,8 +447,9 @@ public class MarqueeTextViewCompat extends TextView {
         if (isStaticMode()) {
             mLeftX = 0f;
             stopScroll();
+            invalidateTextLayer();
         } else {
-            restartScroll();
+            startScroll();
         }
     }
     
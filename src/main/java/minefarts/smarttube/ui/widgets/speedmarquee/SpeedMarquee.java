@@ -16,6 +16,7 @@ import minefarts.smarttube.R;
 public class SpeedMarquee extends TextView {
     private TypedArray typedArray;
     private final Scroller textScroller;
+    private final Rect mTextBounds = new Rect();
     private int mXPaused = 0;
     private boolean isPaused = true;
     private float mScrollSpeed = 2.0f;
@@ -88,7 +89,7 @@ public class SpeedMarquee extends TextView {
     }
 
     private boolean checkIfNeedsScrolling() {
-        measure(0, 0);
+        // NOTE: don't re-measure here. The width comes from the last layout pass.
         int textViewWidth = getWidth();
         if (textViewWidth == 0) return false;
         float textWidth = getTextLength();
@@ -113,9 +114,8 @@ public class SpeedMarquee extends TextView {
     }
 
     private int getTextLength() {
-        Rect rect = new Rect();
-        getPaint().getTextBounds(getText().toString(), 0, getText().length(), rect);
-        return rect.width();
+        getPaint().getTextBounds(getText().toString(), 0, getText().length(), mTextBounds);
+        return mTextBounds.width();
     }
 
     public void pauseScroll() {
@@ -2,75 +2,75 @@ package minefarts.smarttube.ui.widgets.time;
 
 import android.annotation.SuppressLint;
 import android.content.Context;
+import android.text.TextUtils;
 import android.util.AttributeSet;
 import android.view.View;
 import android.widget.TextView;
+import androidx.annotation.NonNull;
 
 import com.liskovsoft.sharedutils.helpers.DateHelper;
-import com.liskovsoft.smartyoutubetv2.common.misc.TickleManager;
-import com.liskovsoft.smartyoutubetv2.common.misc.TickleManager.TickleListener;
 
 /**
  * Note, same view is used inside player and in as global time view
  */
 @SuppressLint("AppCompatCustomView")
-public class DateTimeView extends TextView implements TickleListener {
-    private TickleManager mTickleManager;
+public class DateTimeView extends TextView implements UiClock.Listener {
     private boolean mIsDateEnabled = true;
     private boolean mIsTimeEnabled = true;
+    private boolean mIsAttached;
+    private boolean mIsSubscribed;
 
     public DateTimeView(Context context) {
         super(context);
-        init();
     }
 
     public DateTimeView(Context context, AttributeSet attrs) {
         super(context, attrs);
-        init();
     }
 
     public DateTimeView(Context context, AttributeSet attrs, int defStyleAttr) {
         super(context, attrs, defStyleAttr);
-        init();
-    }
-
-    private void init() {
-        mTickleManager = TickleManager.instance();
-        updateListener();
     }
 
+    /**
+     * Tick only while the view could be seen
+     */
     private void updateListener() {
-        if (getVisibility() == View.VISIBLE) {
-            mTickleManager.addListener(this);
+        boolean subscribe = mIsAttached && isShown() && getWindowVisibility() == View.VISIBLE;
+
+        if (subscribe == mIsSubscribed) {
+            return;
+        }
+
+        mIsSubscribed = subscribe;
+
+        if (subscribe) {
+            UiClock.instance().subscribe(this, UiClock.RESOLUTION_MINUTE);
         } else {
-            mTickleManager.removeListener(this);
+            UiClock.instance().unsubscribe(this);
         }
     }
 
     @Override
-    public void setVisibility(int visibility) {
-        super.setVisibility(visibility);
+    protected void onVisibilityChanged(@NonNull View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
 
         updateListener();
     }
 
     @Override
-    public void onTickle() {
-        if (getVisibility() == View.VISIBLE) {
-            String time;
-
-            if (mIsDateEnabled && !mIsTimeEnabled) {
-                time = DateHelper.getCurrentDateShort();
-            } else if (!mIsDateEnabled && mIsTimeEnabled) {
-                time = DateHelper.getCurrentTimeShort();
-            } else {
-                time = DateHelper.getCurrentDateTimeShort();
-            }
-
-            // https://stackoverflow.com/questions/5437674/what-unicode-characters-represent-time/9454080
-            //setText(String.format("⌚ %s", time));
-            setText(time);
-        }
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+
+        updateListener();
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+
+        mIsAttached = true;
+        updateListener();
     }
 
     @Override
@@ -78,7 +78,27 @@ public class DateTimeView extends TextView implements TickleListener {
         super.onDetachedFromWindow();
 
         // Player has been closed
-        mTickleManager.removeListener(this);
+        mIsAttached = false;
+        updateListener();
+    }
+
+    @Override
+    public void onTick(long nowMs) {
+        String time;
+
+        if (mIsDateEnabled && !mIsTimeEnabled) {
+            time = DateHelper.getCurrentDateShort();
+        } else if (!mIsDateEnabled && mIsTimeEnabled) {
+            time = DateHelper.getCurrentTimeShort();
+        } else {
+            time = DateHelper.getCurrentDateTimeShort();
+        }
+
+        // https://stackoverflow.com/questions/5437674/what-unicode-characters-represent-time/9454080
+        //setText(String.format("⌚ %s", time));
+        if (!TextUtils.equals(time, getText())) {
+            setText(time);
+        }
     }
 
     /**
@@ -86,9 +106,17 @@ public class DateTimeView extends TextView implements TickleListener {
      */
     public void showDate(boolean show) {
         mIsDateEnabled = show;
+        refresh();
     }
 
     public void showTime(boolean show) {
         mIsTimeEnabled = show;
+        refresh();
+    }
+
+    private void refresh() {
+        if (mIsSubscribed) {
+            onTick(System.currentTimeMillis());
+        }
     }
 }
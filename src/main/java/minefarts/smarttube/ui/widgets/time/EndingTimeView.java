@@ -7,23 +7,26 @@ import android.text.TextUtils;
 import android.util.AttributeSet;
 import android.view.View;
 import android.widget.TextView;
+import androidx.annotation.NonNull;
 import androidx.core.content.ContextCompat;
 
 import com.liskovsoft.sharedutils.helpers.DateHelper;
 import com.liskovsoft.sharedutils.helpers.Helpers;
 import com.liskovsoft.smartyoutubetv2.common.app.presenters.PlaybackPresenter;
 import com.liskovsoft.smartyoutubetv2.common.app.views.PlaybackView;
-import com.liskovsoft.smartyoutubetv2.common.misc.TickleManager;
-import com.liskovsoft.smartyoutubetv2.common.misc.TickleManager.TickleListener;
 import com.liskovsoft.smartyoutubetv2.common.prefs.common.DataChangeBase.OnDataChange;
 import com.liskovsoft.smartyoutubetv2.common.prefs.PlayerData;
 import minefarts.smarttube.R;
 
 @SuppressLint("AppCompatCustomView")
-public class EndingTimeView extends TextView implements TickleListener, OnDataChange {
-    private TickleManager mTickleManager;
+public class EndingTimeView extends TextView implements UiClock.Listener, OnDataChange {
+    private static final long NO_TIME = -1;
     private PlayerData mPlayerData;
     private boolean mIconIsSet;
+    private boolean mIsAttached;
+    private boolean mIsSubscribed;
+    private long mLastEndingMinute = NO_TIME;
+    private final StringBuilder mBuffer = new StringBuilder();
 
     public EndingTimeView(Context context) {
         super(context);
@@ -41,9 +44,7 @@ public class EndingTimeView extends TextView implements TickleListener, OnDataCh
     }
 
     private void init() {
-        mTickleManager = TickleManager.instance();
         mPlayerData = PlayerData.instance(getContext());
-        updateListener();
     }
 
     private void setIcon() {
@@ -55,20 +56,55 @@ public class EndingTimeView extends TextView implements TickleListener, OnDataCh
         }
     }
 
+    /**
+     * Tick only while the view could be seen
+     */
     private void updateListener() {
-        if (getVisibility() == View.VISIBLE) {
-            mTickleManager.addListener(this);
+        boolean subscribe = mIsAttached && isShown() && getWindowVisibility() == View.VISIBLE;
+
+        if (subscribe == mIsSubscribed) {
+            return;
+        }
+
+        mIsSubscribed = subscribe;
+
+        if (subscribe) {
             mPlayerData.setOnChange(this);
+            UiClock.instance().subscribe(this, UiClock.RESOLUTION_SECOND);
         } else {
-            mTickleManager.removeListener(this);
+            UiClock.instance().unsubscribe(this);
             mPlayerData.removeOnChange(this);
         }
     }
 
     @Override
-    public void setVisibility(int visibility) {
-        super.setVisibility(visibility);
+    protected void onVisibilityChanged(@NonNull View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
+
+        updateListener();
+    }
+
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+
+        updateListener();
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+
+        mIsAttached = true;
+        updateListener();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
 
+        // Player has been closed
+        mIsAttached = false;
         updateListener();
     }
 
@@ -78,41 +114,61 @@ public class EndingTimeView extends TextView implements TickleListener, OnDataCh
     }
 
     @Override
-    public void onTickle() {
-        update();
+    public void onTick(long nowMs) {
+        applyEndingTime(nowMs);
     }
 
+    /**
+     * Forced update. E.g. after seek or speed change.
+     */
     public void update() {
-        if (getVisibility() == View.VISIBLE) {
-            String endingTime = getEndingTime();
-
-            setText(!TextUtils.isEmpty(endingTime) ? String.format("%s %s", Helpers.HOURGLASS, endingTime) : null);
-
-            //if (endingTime != null) {
-            //    // https://stackoverflow.com/questions/5437674/what-unicode-characters-represent-time/9454080
-            //    //setText(TextUtils.concat( Utils.icon(getContext(), R.drawable.action_pip, getLineHeight()), " ", endingTime));
-            //    setText(String.format("⌛ %s", endingTime));
-            //    //setText(String.format("(%s)", endingTime));
-            //
-            //
-            //    // Use external icon
-            //    //setText(endingTime);
-            //    //if (!mIconIsSet) {
-            //    //    setIcon();
-            //    //}
-            //}
+        if (mIsSubscribed) {
+            mLastEndingMinute = NO_TIME;
+            applyEndingTime(System.currentTimeMillis());
         }
     }
 
-    @Override
-    protected void onDetachedFromWindow() {
-        super.onDetachedFromWindow();
+    /**
+     * Formats only when the displayed minute has changed
+     */
+    private void applyEndingTime(long nowMs) {
+        long endingTimeMs = getEndingTimeMs(nowMs);
+        long endingMinute = endingTimeMs != NO_TIME ? endingTimeMs / 60_000 : NO_TIME;
 
-        // Player has been closed
-        mTickleManager.removeListener(this);
+        if (endingMinute == mLastEndingMinute) {
+            return;
+        }
+
+        mLastEndingMinute = endingMinute;
+
+        if (endingTimeMs == NO_TIME) {
+            setText(null);
+            return;
+        }
+
+        mBuffer.setLength(0);
+        mBuffer.append(Helpers.HOURGLASS).append(' ').append(DateHelper.toShortTime(endingTimeMs));
+
+        if (!TextUtils.equals(mBuffer, getText())) {
+            setText(mBuffer);
+        }
+
+        //if (endingTime != null) {
+        //    // https://stackoverflow.com/questions/5437674/what-unicode-characters-represent-time/9454080
+        //    //setText(TextUtils.concat( Utils.icon(getContext(), R.drawable.action_pip, getLineHeight()), " ", endingTime));
+        //    setText(String.format("⌛ %s", endingTime));
+        //    //setText(String.format("(%s)", endingTime));
+        //
+        //
+        //    // Use external icon
+        //    //setText(endingTime);
+        //    //if (!mIconIsSet) {
+        //    //    setIcon();
+        //    //}
+        //}
     }
 
-    private String getEndingTime() {
+    private long getEndingTimeMs(long nowMs) {
         PlaybackView playbackView = PlaybackPresenter.instance(getContext()).getView();
 
         long remainingTimeMs = 0;
@@ -123,10 +179,10 @@ public class EndingTimeView extends TextView implements TickleListener, OnDataCh
         }
 
         if (remainingTimeMs == 0) {
-            return null;
+            return NO_TIME;
         }
 
-        return DateHelper.toShortTime(System.currentTimeMillis() + remainingTimeMs);
+        return nowMs + remainingTimeMs;
     }
 
     private long applySpeedCorrection(long timeMs) {
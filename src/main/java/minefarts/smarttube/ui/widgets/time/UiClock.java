@@ -0,0 +1,128 @@
+package minefarts.smarttube.ui.widgets.time;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single ticker for the time widgets.<br/>
+ * Fires at the wall clock second or minute boundaries and only while there are subscribers.<br/>
+ * Subscribers should be added only while their view is visible.
+ */
+public final class UiClock {
+    public static final long RESOLUTION_SECOND = 1_000;
+    public static final long RESOLUTION_MINUTE = 60_000;
+    private static final long BOUNDARY_DELAY_MS = 20; // don't fire right before the boundary due to handler jitter
+    private static UiClock sInstance;
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+    private final List<Subscriber> mSubscribers = new ArrayList<>();
+    private final Runnable mTick = this::tick;
+
+    public interface Listener {
+        void onTick(long nowMs);
+    }
+
+    private static final class Subscriber {
+        private final Listener mListener;
+        private final long mResolutionMs;
+        private long mLastBoundary;
+
+        private Subscriber(Listener listener, long resolutionMs) {
+            mListener = listener;
+            mResolutionMs = resolutionMs;
+        }
+    }
+
+    private UiClock() {
+    }
+
+    public static UiClock instance() {
+        if (sInstance == null) {
+            sInstance = new UiClock();
+        }
+
+        return sInstance;
+    }
+
+    /**
+     * Listener is called immediately and then at every boundary of the given resolution
+     */
+    public void subscribe(Listener listener, long resolutionMs) {
+        if (find(listener) != null) {
+            return;
+        }
+
+        long nowMs = System.currentTimeMillis();
+        Subscriber subscriber = new Subscriber(listener, resolutionMs);
+        subscriber.mLastBoundary = nowMs / resolutionMs;
+        mSubscribers.add(subscriber);
+
+        listener.onTick(nowMs);
+
+        schedule(nowMs);
+    }
+
+    public void unsubscribe(Listener listener) {
+        Subscriber subscriber = find(listener);
+
+        if (subscriber == null) {
+            return;
+        }
+
+        mSubscribers.remove(subscriber);
+
+        if (mSubscribers.isEmpty()) {
+            mHandler.removeCallbacks(mTick);
+        } else {
+            schedule(System.currentTimeMillis());
+        }
+    }
+
+    private void tick() {
+        long nowMs = System.currentTimeMillis();
+
+        // Copy. Listeners may unsubscribe.
+        for (Subscriber subscriber : new ArrayList<>(mSubscribers)) {
+            long boundary = nowMs / subscriber.mResolutionMs;
+
+            if (boundary != subscriber.mLastBoundary && mSubscribers.contains(subscriber)) {
+                subscriber.mLastBoundary = boundary;
+                subscriber.mListener.onTick(nowMs);
+            }
+        }
+
+        schedule(System.currentTimeMillis());
+    }
+
+    /**
+     * Next run at the closest boundary among the subscribers
+     */
+    private void schedule(long nowMs) {
+        mHandler.removeCallbacks(mTick);
+
+        if (mSubscribers.isEmpty()) {
+            return;
+        }
+
+        long delayMs = Long.MAX_VALUE;
+
+        for (Subscriber subscriber : mSubscribers) {
+            delayMs = Math.min(delayMs, subscriber.mResolutionMs - nowMs % subscriber.mResolutionMs);
+        }
+
+        mHandler.postAtTime(mTick, SystemClock.uptimeMillis() + delayMs + BOUNDARY_DELAY_MS);
+    }
+
+    private Subscriber find(Listener listener) {
+        for (Subscriber subscriber : mSubscribers) {
+            if (subscriber.mListener == listener) {
+                return subscriber;
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,179 @@
+package minefarts.smarttube.util;
+
+import android.app.ActivityManager;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.drawable.BitmapDrawable;
+import android.os.Build.VERSION;
+import androidx.annotation.Nullable;
+import com.bumptech.glide.load.DataSource;
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.engine.GlideException;
+import com.bumptech.glide.load.resource.bitmap.Downsampler;
+import com.bumptech.glide.request.Request;
+import com.bumptech.glide.request.RequestListener;
+import com.bumptech.glide.request.RequestOptions;
+import com.bumptech.glide.request.target.Target;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bitmap config of the Glide requests per use case.<br/>
+ * HARDWARE (API 26+) for static images that only drawn, RGB_565 for opaque images copied on the CPU (backgrounds)
+ * and for thumbnails on low RAM devices, ARGB_8888 in memory for images that need alpha or CPU access (crops, circle masks).<br/>
+ * Also reports memory per use case for the debug overlay: bitmaps held by the targets that still show them.
+ */
+public final class DecodePolicy {
+    public static final int TYPE_CARD_THUMBNAIL = 0;
+    public static final int TYPE_BACKGROUND = 1;
+    public static final int TYPE_STORYBOARD = 2;
+    public static final int TYPE_AVATAR = 3;
+    private static final String[] TYPE_NAMES = {"Thumbnails", "Backgrounds", "Storyboards", "Avatars"};
+    private static final int LOW_RAM_MEMORY_CLASS_MB = 128;
+    private static final Stats[] sStats = {new Stats(), new Stats(), new Stats(), new Stats()};
+    private static Boolean sIsLowRam;
+
+    private DecodePolicy() {
+    }
+
+    public static RequestOptions options(Context context, int type) {
+        RequestOptions options = new RequestOptions();
+
+        switch (type) {
+            case TYPE_CARD_THUMBNAIL:
+                return isLowRam(context) ?
+                        options.format(DecodeFormat.PREFER_RGB_565).set(Downsampler.ALLOW_HARDWARE_CONFIG, false) :
+                        options.format(DecodeFormat.PREFER_ARGB_8888).set(Downsampler.ALLOW_HARDWARE_CONFIG, true);
+            case TYPE_BACKGROUND: // copied into the pooled buffer
+                return options.format(DecodeFormat.PREFER_RGB_565).set(Downsampler.ALLOW_HARDWARE_CONFIG, false);
+            case TYPE_STORYBOARD: // cropped on the CPU
+            case TYPE_AVATAR: // circle mask needs alpha
+            default:
+                return options.format(DecodeFormat.PREFER_ARGB_8888).set(Downsampler.ALLOW_HARDWARE_CONFIG, false);
+        }
+    }
+
+    /**
+     * Tracks images of the type until their target is cleared or reused
+     */
+    public static <T> RequestListener<T> track(int type) {
+        return new RequestListener<T>() {
+            @Override
+            public boolean onLoadFailed(@Nullable GlideException e, Object model, Target<T> target, boolean isFirstResource) {
+                return false;
+            }
+
+            @Override
+            public boolean onResourceReady(T resource, Object model, Target<T> target, DataSource dataSource, boolean isFirstResource) {
+                Bitmap bitmap = resource instanceof Bitmap ? (Bitmap) resource :
+                        resource instanceof BitmapDrawable ? ((BitmapDrawable) resource).getBitmap() : null;
+
+                if (bitmap != null) {
+                    sStats[type].add(bitmap, target, dataSource != DataSource.MEMORY_CACHE);
+                }
+
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Per use case: bitmaps shown now and their size, images decoded since the app start, last config
+     */
+    public static String getDebugInfo() {
+        StringBuilder result = new StringBuilder();
+        result.append("Images       shown  in use MB  decoded  config");
+
+        for (int i = 0; i < sStats.length; i++) {
+            Stats stats = sStats[i];
+            stats.update();
+            result.append(String.format(Locale.US, "\n%-12s %5d  %9.1f  %7d  %s",
+                    TYPE_NAMES[i], stats.mLiveCount, stats.mLiveBytes / 1024f / 1024f, stats.mDecodedCount,
+                    stats.mConfig != null ? stats.mConfig : "-"));
+        }
+
+        return result.toString();
+    }
+
+    private static boolean isLowRam(Context context) {
+        if (sIsLowRam == null) {
+            ActivityManager manager = (ActivityManager) context.getApplicationContext().getSystemService(Context.ACTIVITY_SERVICE);
+            sIsLowRam = manager != null &&
+                    ((VERSION.SDK_INT >= 19 && manager.isLowRamDevice()) || manager.getMemoryClass() <= LOW_RAM_MEMORY_CLASS_MB);
+        }
+
+        return sIsLowRam;
+    }
+
+    /**
+     * Bitmap delivered to the target. Alive while the target holds the same completed request.
+     */
+    private static final class Entry {
+        private final WeakReference<Target<?>> mTarget;
+        private final Request mRequest;
+        private final Bitmap mBitmap;
+
+        private Entry(Target<?> target, Bitmap bitmap) {
+            mTarget = new WeakReference<>(target);
+            mRequest = target.getRequest();
+            mBitmap = bitmap;
+        }
+
+        private boolean isAlive() {
+            Target<?> target = mTarget.get();
+
+            return target != null && mRequest != null && target.getRequest() == mRequest && mRequest.isComplete() && !mBitmap.isRecycled();
+        }
+    }
+
+    private static final class Stats {
+        private final List<Entry> mEntries = new ArrayList<>();
+        private int mPruneSize = 64;
+        private int mDecodedCount;
+        private int mLiveCount;
+        private long mLiveBytes;
+        private Bitmap.Config mConfig;
+
+        private synchronized void add(Bitmap bitmap, Target<?> target, boolean isDecoded) {
+            if (isDecoded) {
+                mDecodedCount++;
+            }
+
+            mConfig = bitmap.getConfig();
+            mEntries.add(new Entry(target, bitmap));
+
+            // The overlay may be hidden. Don't let released entries pile up.
+            if (mEntries.size() > mPruneSize) {
+                update();
+                mPruneSize = Math.max(64, mEntries.size() * 2);
+            }
+        }
+
+        /**
+         * Drops released entries. The same bitmap (memory cache) shown by several targets is counted once.
+         */
+        private synchronized void update() {
+            Map<Bitmap, Boolean> bitmaps = new IdentityHashMap<>();
+            Iterator<Entry> iterator = mEntries.iterator();
+            mLiveBytes = 0;
+
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+
+                if (!entry.isAlive()) {
+                    iterator.remove();
+                } else if (bitmaps.put(entry.mBitmap, true) == null) {
+                    mLiveBytes += VERSION.SDK_INT >= 19 ? entry.mBitmap.getAllocationByteCount() : entry.mBitmap.getByteCount();
+                }
+            }
+
+            mLiveCount = bitmaps.size();
+        }
+    }
+}
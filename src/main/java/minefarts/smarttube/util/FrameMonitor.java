@@ -0,0 +1,207 @@
+package minefarts.smarttube.util;
+
+import android.content.Context;
+import android.view.Choreographer;
+import android.view.Choreographer.FrameCallback;
+import android.view.Display;
+import android.view.WindowManager;
+import com.liskovsoft.sharedutils.mylogger.Log;
+import minefarts.smarttube.adapter.VideoGroupObjectAdapter;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Frame timing monitor. Frame intervals are taken from the Choreographer callback.<br/>
+ * A frame is slow when it takes longer than 1.5 vsync intervals. Slow frames are attributed to the active screen
+ * and to the events (adapter updates, focus changes, image binds) that happened during the frame.<br/>
+ * Enabled together with the player stats overlay. Main thread only.
+ */
+public final class FrameMonitor implements FrameCallback, VideoGroupObjectAdapter.UpdateListener {
+    private static final String TAG = FrameMonitor.class.getSimpleName();
+    public static final int EVENT_ADAPTER_ADD = 0;
+    public static final int EVENT_ADAPTER_SYNC = 1;
+    public static final int EVENT_FOCUS = 2;
+    public static final int EVENT_IMAGE_BIND = 3;
+    private static final String[] EVENT_NAMES = {"adapter add", "adapter sync", "focus", "image bind"};
+    private static final int MAX_TRACKED_MS = 100; // longer frames go to the last bucket
+    private static final long IDLE_GAP_NS = 1_000_000_000; // app paused, display off
+    private static final float DEFAULT_REFRESH_RATE = 60;
+    private static FrameMonitor sInstance;
+    private final Map<String, ScreenStats> mScreens = new LinkedHashMap<>();
+    private final long[] mSlowFramesByEvent = new long[EVENT_NAMES.length];
+    private ScreenStats mScreen;
+    private String mScreenName = "Unknown";
+    private long mVsyncNs;
+    private long mLastFrameNs;
+    private int mFrameEvents;
+    private boolean mIsEnabled;
+
+    private static final class ScreenStats {
+        private final int[] mHistogram = new int[MAX_TRACKED_MS + 1];
+        private long mFrames;
+        private long mSlowFrames;
+        private long mDroppedFrames;
+
+        private void add(long frameMs, int droppedFrames) {
+            mHistogram[(int) Math.min(frameMs, MAX_TRACKED_MS)]++;
+            mFrames++;
+
+            if (droppedFrames > 0) {
+                mSlowFrames++;
+                mDroppedFrames += droppedFrames;
+            }
+        }
+
+        private int getPercentile(int percent) {
+            long target = (mFrames * percent + 99) / 100;
+            long count = 0;
+
+            for (int i = 0; i < mHistogram.length; i++) {
+                count += mHistogram[i];
+                if (count >= target) {
+                    return i;
+                }
+            }
+
+            return MAX_TRACKED_MS;
+        }
+    }
+
+    private FrameMonitor() {
+    }
+
+    public static FrameMonitor instance() {
+        if (sInstance == null) {
+            sInstance = new FrameMonitor();
+        }
+
+        return sInstance;
+    }
+
+    /**
+     * Stats are reset when the monitor is turned on
+     */
+    public void setEnabled(Context context, boolean enabled) {
+        if (mIsEnabled == enabled) {
+            return;
+        }
+
+        mIsEnabled = enabled;
+
+        if (enabled) {
+            mScreens.clear();
+            mScreen = null;
+            mVsyncNs = (long) (1_000_000_000 / getRefreshRate(context));
+            mLastFrameNs = 0;
+            mFrameEvents = 0;
+            for (int i = 0; i < mSlowFramesByEvent.length; i++) {
+                mSlowFramesByEvent[i] = 0;
+            }
+            Choreographer.getInstance().postFrameCallback(this);
+            VideoGroupObjectAdapter.setUpdateListener(this);
+        } else {
+            Choreographer.getInstance().removeFrameCallback(this);
+            VideoGroupObjectAdapter.setUpdateListener(null);
+            CharSequence info = getDebugInfo();
+            if (info != null) {
+                Log.d(TAG, info);
+            }
+        }
+    }
+
+    /**
+     * Activity, browse section, player controls etc
+     */
+    public void setScreen(String name) {
+        mScreenName = name;
+        mScreen = null;
+    }
+
+    public void onEvent(int event) {
+        if (mIsEnabled) {
+            mFrameEvents |= 1 << event;
+        }
+    }
+
+    @Override
+    public void onAdd() {
+        onEvent(EVENT_ADAPTER_ADD);
+    }
+
+    @Override
+    public void onSync() {
+        onEvent(EVENT_ADAPTER_SYNC);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!mIsEnabled) {
+            return;
+        }
+
+        long intervalNs = frameTimeNanos - mLastFrameNs;
+
+        if (mLastFrameNs != 0 && intervalNs < IDLE_GAP_NS) {
+            int droppedFrames = (int) ((intervalNs + mVsyncNs / 2) / mVsyncNs) - 1;
+
+            if (mScreen == null) {
+                mScreen = mScreens.get(mScreenName);
+                if (mScreen == null) {
+                    mScreen = new ScreenStats();
+                    mScreens.put(mScreenName, mScreen);
+                }
+            }
+
+            mScreen.add(intervalNs / 1_000_000, droppedFrames);
+
+            if (droppedFrames > 0) {
+                for (int i = 0; i < mSlowFramesByEvent.length; i++) {
+                    if ((mFrameEvents & (1 << i)) != 0) {
+                        mSlowFramesByEvent[i]++;
+                    }
+                }
+            }
+        }
+
+        mLastFrameNs = frameTimeNanos;
+        mFrameEvents = 0;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    /**
+     * Per screen: frames, slow frames, dropped frames, frame time percentiles
+     */
+    public CharSequence getDebugInfo() {
+        if (mScreens.isEmpty()) {
+            return null;
+        }
+
+        StringBuilder result = new StringBuilder();
+        result.append(String.format(Locale.US, "Frames (vsync %.1f ms)  p50/p90/p99 ms", mVsyncNs / 1_000_000f));
+
+        for (Map.Entry<String, ScreenStats> entry : mScreens.entrySet()) {
+            ScreenStats stats = entry.getValue();
+            result.append(String.format(Locale.US, "\n%-20s %6d  slow %5d (%4.1f%%)  dropped %5d  %d/%d/%d",
+                    entry.getKey(), stats.mFrames, stats.mSlowFrames, stats.mSlowFrames * 100f / Math.max(stats.mFrames, 1),
+                    stats.mDroppedFrames, stats.getPercentile(50), stats.getPercentile(90), stats.getPercentile(99)));
+        }
+
+        result.append("\nSlow frames with");
+
+        for (int i = 0; i < EVENT_NAMES.length; i++) {
+            result.append(String.format(Locale.US, "  %s %d", EVENT_NAMES[i], mSlowFramesByEvent[i]));
+        }
+
+        return result;
+    }
+
+    private static float getRefreshRate(Context context) {
+        WindowManager windowManager = (WindowManager) context.getSystemService(Context.WINDOW_SERVICE);
+        Display display = windowManager != null ? windowManager.getDefaultDisplay() : null;
+        float refreshRate = display != null ? display.getRefreshRate() : 0;
+
+        return refreshRate >= 10 ? refreshRate : DEFAULT_REFRESH_RATE;
+    }
+}
@@ -0,0 +1,37 @@
+package minefarts.smarttube.util;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolution ladder of the YouTube thumbnails.<br/>
+ * Every high resolution thumbnail (hq, sd, maxres, hq720) has 320x180 'mq' sibling with the same frame.
+ */
+public final class ThumbnailLadder {
+    private static final Pattern YT_THUMB = Pattern.compile(
+            "^(https?://i\\d?\\.ytimg\\.com/vi(?:_webp)?/[^/]+/)(hq|sd|maxres)(default|720|1|2|3)(_live)?\\.(jpg|webp)(?:\\?.*)?$");
+
+    private ThumbnailLadder() {
+    }
+
+    /**
+     * @return smallest rung of the same thumbnail or null if there's no smaller rung
+     */
+    public static String getLowResUrl(String url) {
+        if (url == null) {
+            return null;
+        }
+
+        Matcher matcher = YT_THUMB.matcher(url);
+
+        if (!matcher.matches()) {
+            return null;
+        }
+
+        String name = matcher.group(3);
+        String live = matcher.group(4);
+
+        // hq720 has no 720 'mq' version, signed query params don't apply to the sibling
+        return matcher.group(1) + "mq" + ("720".equals(name) ? "default" : name) + (live != null ? live : "") + "." + matcher.group(5);
+    }
+}